@@ -132,7 +132,6 @@ public class ApkPatcher {
                 
                 // Copy all existing entries from input APK
                 ZipEntry entry;
-                byte[] buffer = new byte[8192];
                 int entriesCopied = 0;
                 
                 while ((entry = zis.getNextEntry()) != null) {
@@ -147,10 +146,7 @@ public class ApkPatcher {
                     
                     zos.putNextEntry(new ZipEntry(entry.getName()));
                     
-                    int len;
-                    while ((len = zis.read(buffer)) > 0) {
-                        zos.write(buffer, 0, len);
-                    }
+                    IoUtils.copyStream(zis, zos, entry.getSize(), null);
                     
                     zos.closeEntry();
                     zis.closeEntry();
@@ -166,10 +162,7 @@ public class ApkPatcher {
                         zos.putNextEntry(new ZipEntry(fileToInject.targetPath));
                         
                         try (FileInputStream fis = new FileInputStream(fileToInject.sourceFile)) {
-                            int len;
-                            while ((len = fis.read(buffer)) > 0) {
-                                zos.write(buffer, 0, len);
-                            }
+                            IoUtils.copyStream(fis, zos, fileToInject.sourceFile.length(), null);
                         }
                         
                         zos.closeEntry();
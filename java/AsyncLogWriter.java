@@ -0,0 +1,324 @@
+// File: AsyncLogWriter.java (Utility Class) - Background, batched writer for the rotated app log files
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/util/AsyncLogWriter.java
+
+package com.terrarialoader.util;
+
+import com.terrarialoader.ui.LogEntry;
+import com.terrarialoader.ui.LogTimeFormatter;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logging threads only claim a slot in a bounded lock-free ring buffer (multi-producer,
+ * single-consumer); one daemon thread drains it in batches and appends them to AppLog.txt,
+ * rotating by size and age. Each batch also goes to the structured AppLog.tlog/.tidx pair
+ * (see StructuredLogFile), which the log viewer reads with real timestamps.
+ *
+ * Overflow policy: DEBUG entries may only fill the buffer up to a high-water mark, so
+ * they are dropped first; entries at or above the blocking level wait for space instead
+ * of being dropped; everything in between is dropped only when the buffer is full.
+ * Dropped entries are counted and reported in the log file.
+ */
+public class AsyncLogWriter {
+    private static final int CAPACITY = 8192; // Power of two
+    private static final int MASK = CAPACITY - 1;
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = 200_000_000L;
+    private static final long FULL_PARK_NANOS = 100_000L;
+
+    private static final long MAX_FILE_BYTES = 1024 * 1024;
+    private static final long MAX_FILE_AGE_MS = 60 * 60 * 1000; // 1 hour
+    private static final String GENERATED_PREFIX = "Generated: ";
+
+    private static volatile AsyncLogWriter instance;
+
+    // Ring buffer: sequences[i] == n + 1 once slot i holds the entry claimed as n
+    private final LogEntry[] slots = new LogEntry[CAPACITY];
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private volatile long written; // Entries before this sequence are on disk
+
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile int debugLimit = CAPACITY * 3 / 4;
+    private volatile int blockingPriority = LogEntry.LogLevel.USER.getPriority();
+
+    private final Object fileLock = new Object();
+    private final File logDir;
+    private final String logPrefix;
+    private File currentFile;
+    private BufferedWriter writer;
+    private StructuredLogFile.Writer structuredWriter;
+    private long fileBytes;
+    private long fileCreated; // From the header of currentFile; drives age rotation
+    private final LogEntry[] pending = new LogEntry[MAX_BATCH]; // Entries of the batch being written
+
+    private final Thread thread;
+    private volatile boolean idle;
+
+    private AsyncLogWriter(File logDir, String logPrefix) {
+        this.logDir = logDir;
+        this.logPrefix = logPrefix;
+        this.thread = new Thread(this::run, "TerrariaLoader-LogWriter");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY + 1);
+        this.thread.start();
+    }
+
+    public static AsyncLogWriter getInstance(File logDir, String logPrefix) {
+        if (instance == null) {
+            synchronized (AsyncLogWriter.class) {
+                if (instance == null) {
+                    instance = new AsyncLogWriter(logDir, logPrefix);
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Null until the first file-backed log entry was written
+    public static AsyncLogWriter peekInstance() {
+        return instance;
+    }
+
+    /**
+     * @param debugHighWaterPercent share of the buffer DEBUG entries may fill (1-100)
+     * @param blockingLevel entries with at least this level's priority block instead of being dropped
+     */
+    public void setOverflowPolicy(int debugHighWaterPercent, LogEntry.LogLevel blockingLevel) {
+        int percent = Math.max(1, Math.min(100, debugHighWaterPercent));
+        debugLimit = CAPACITY * percent / 100;
+        blockingPriority = blockingLevel.getPriority();
+    }
+
+    // Entries dropped since the last "dropped" line was written to the file
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // === PRODUCERS ===
+
+    public void enqueue(LogEntry entry) {
+        int priority = entry.getPriority();
+        int limit = entry.getLevel() == LogEntry.LogLevel.DEBUG ? debugLimit : CAPACITY;
+        boolean block = priority >= blockingPriority && Thread.currentThread() != thread;
+
+        while (!offer(entry, limit)) {
+            if (!block) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        if (idle) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private boolean offer(LogEntry entry, int limit) {
+        while (true) {
+            long claim = tail.get();
+            if (claim - head >= limit) {
+                return false;
+            }
+            if (tail.compareAndSet(claim, claim + 1)) {
+                int index = (int) (claim & MASK);
+                slots[index] = entry;
+                sequences.set(index, claim + 1); // Publishes the slot to the writer thread
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Waits until everything enqueued before this call is on disk.
+     * @return false if the writer did not catch up within timeoutMs
+     */
+    public boolean flush(long timeoutMs) {
+        long target = tail.get();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (written < target) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    // === FILE MAINTENANCE (called from other threads) ===
+
+    public void rotateNow() {
+        withFileReleased(() -> LogUtils.rotateLogFiles(logDir, logPrefix));
+    }
+
+    // Runs action with the current file closed (rename, delete, copy); it is reopened on the next batch
+    public void withFileReleased(Runnable action) {
+        synchronized (fileLock) {
+            closeFile();
+            action.run();
+        }
+    }
+
+    // === WRITER THREAD ===
+
+    private void run() {
+        StringBuilder batch = new StringBuilder(64 * 1024);
+        char[] time = new char[LogTimeFormatter.TIME_LENGTH];
+        while (true) {
+            int count = drain(batch, time);
+            if (count == 0) {
+                idle = true;
+                if (tail.get() == head) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                batch.append(LogTimeFormatter.formatTime(System.currentTimeMillis()))
+                     .append(" [WARN] ").append(lost).append(" log entries dropped (log buffer full)\n");
+            }
+            write(batch, count);
+            batch.setLength(0);
+            written = head;
+        }
+    }
+
+    private int drain(StringBuilder batch, char[] time) {
+        int count = 0;
+        long position = head;
+        while (count < MAX_BATCH) {
+            int index = (int) (position & MASK);
+            if (sequences.get(index) != position + 1) {
+                break; // Empty, or the producer has claimed but not yet published this slot
+            }
+            LogEntry entry = slots[index];
+            slots[index] = null;
+            position++;
+            head = position; // Frees the slot for producers
+
+            pending[count] = entry;
+            int length = LogTimeFormatter.formatTime(entry.getTimestamp(), time, 0);
+            batch.append(time, 0, length)
+                 .append(" [").append(entry.getLevel().getDisplayName()).append("] ")
+                 .append(entry.getMessage()).append('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private void write(StringBuilder batch, int count) {
+        synchronized (fileLock) {
+            try {
+                if (writer != null && (!currentFile.exists() || fileBytes > MAX_FILE_BYTES ||
+                        System.currentTimeMillis() - fileCreated > MAX_FILE_AGE_MS)) {
+                    closeFile();
+                    if (currentFile.exists()) {
+                        LogUtils.rotateLogFiles(logDir, logPrefix);
+                    }
+                }
+                if (writer == null) {
+                    openFile();
+                }
+                writer.append(batch);
+                writer.flush();
+                fileBytes += batch.length();
+                if (structuredWriter != null) {
+                    for (int i = 0; i < count; i++) {
+                        structuredWriter.append(pending[i]);
+                    }
+                    structuredWriter.flush();
+                }
+            } catch (IOException e) {
+                closeFile(); // Retried on the next batch; never log from here
+            } finally {
+                Arrays.fill(pending, 0, count, null);
+            }
+        }
+    }
+
+    private void openFile() throws IOException {
+        if (!logDir.exists()) {
+            logDir.mkdirs();
+        }
+        currentFile = new File(logDir, logPrefix + ".txt");
+        long now = System.currentTimeMillis();
+        if (currentFile.exists() && currentFile.length() > 0) {
+            fileCreated = readCreationTime(currentFile);
+            if (currentFile.length() > MAX_FILE_BYTES || now - fileCreated > MAX_FILE_AGE_MS) {
+                LogUtils.rotateLogFiles(logDir, logPrefix);
+            }
+        }
+        boolean fresh = !currentFile.exists() || currentFile.length() == 0;
+        writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(currentFile, true), StandardCharsets.UTF_8), 32 * 1024);
+        fileBytes = currentFile.length();
+        if (fresh) {
+            fileCreated = now;
+            writer.write("=== TerrariaLoader App Log ===\n");
+            writer.write(GENERATED_PREFIX + LogTimeFormatter.formatDateTime(now) + "\n");
+            writer.write("===================================\n\n");
+        }
+        try {
+            structuredWriter = new StructuredLogFile.Writer(StructuredLogFile.recordFile(logDir, logPrefix),
+                                                            StructuredLogFile.indexFile(logDir, logPrefix));
+        } catch (IOException e) {
+            structuredWriter = null; // Text log still works; the viewer falls back to parsing it
+        }
+    }
+
+    // Age is measured from the "Generated:" header, since every write moves lastModified
+    private static long readCreationTime(File file) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < 3; i++) {
+                String line = reader.readLine();
+                if (line != null && line.startsWith(GENERATED_PREFIX)) {
+                    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+                    return format.parse(line.substring(GENERATED_PREFIX.length()).trim()).getTime();
+                }
+            }
+        } catch (IOException | ParseException e) {
+            // Fall through to the file time
+        }
+        return file.lastModified(); // No header: not written by this class
+    }
+
+    private void closeFile() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Nothing left to do with a broken handle
+            }
+            writer = null;
+        }
+        if (structuredWriter != null) {
+            try {
+                structuredWriter.close();
+            } catch (IOException e) {
+                // Same as above
+            }
+            structuredWriter = null;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+// File: ContentStore.java (Utility Class) - Content-addressed storage for mod binaries and backups
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/util/ContentStore.java
+
+package com.terrarialoader.util;
+
+import android.os.Build;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stores file contents once, under their SHA-256 (".store/ab/abcdef..."), in the same
+ * directory tree as the files it deduplicates so hard links stay on one filesystem.
+ *
+ * A backup is a reference to an object: a hard link where the filesystem allows it,
+ * otherwise a small "<backup>.ref" file holding the hash. Backing up the same content
+ * twice therefore costs no extra space, and objects are never modified after creation.
+ * Objects whose references are gone are removed with prune().
+ */
+public class ContentStore {
+    public static final String STORE_DIR_NAME = ".store";
+    public static final String REF_SUFFIX = ".ref";
+    private static final String REF_PREFIX = "sha256:";
+    // prune() keeps younger objects: a concurrent backup may have stored one but not yet referenced it
+    private static final long PRUNE_GRACE_MS = 60 * 1000;
+
+    private final File rootDir;
+
+    public ContentStore(File rootDir) {
+        this.rootDir = rootDir;
+    }
+
+    // Store living next to the given file (e.g. the DEX or DLL mods directory)
+    public static ContentStore forDirectory(File directory) {
+        return new ContentStore(new File(directory, STORE_DIR_NAME));
+    }
+
+    public File getRootDir() {
+        return rootDir;
+    }
+
+    public File getObject(String hash) {
+        return new File(new File(rootDir, hash.substring(0, 2)), hash);
+    }
+
+    public boolean contains(String hash) {
+        return hash != null && getObject(hash).isFile();
+    }
+
+    /**
+     * Makes sure the content of file is in the store and returns its hash.
+     * @param knownHash hash computed by the caller while it already streamed the file, or null
+     */
+    public String store(File file, String knownHash) throws IOException {
+        String hash = knownHash != null ? knownHash : IoUtils.sha256Hex(file);
+        File object = getObject(hash);
+        if (object.isFile()) {
+            return hash; // Already stored - nothing to write
+        }
+
+        File parent = object.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create store directory: " + parent.getAbsolutePath());
+        }
+
+        // Objects are written by copy so later in-place edits of file can never change them.
+        // The temp name is unique: batch install workers may store the same content at once
+        File temp = File.createTempFile(hash.substring(0, 12) + "-", ".tmp", parent);
+        try {
+            copy(file, temp);
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(object)) {
+            temp.delete();
+            if (!object.isFile()) {
+                throw new IOException("Cannot move object into store: " + hash);
+            }
+        }
+        object.setReadOnly();
+        LogUtils.logDebug("Stored new object " + hash.substring(0, 12) + " (" + file.getName() + ")");
+        return hash;
+    }
+
+    /**
+     * Backs file up as a reference to its stored content.
+     * @return the backup (hard link or .ref file), or null on failure
+     */
+    public File createBackup(File file, File backupFile, String knownHash) {
+        try {
+            String hash = store(file, knownHash);
+            return createReference(hash, backupFile);
+        } catch (IOException e) {
+            LogUtils.logDebug("Content-addressed backup failed for " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public File createReference(String hash, File backupFile) throws IOException {
+        File object = getObject(hash);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            try {
+                Files.createLink(backupFile.toPath(), object.toPath());
+                return backupFile;
+            } catch (Exception e) {
+                // Hard links not supported here (FUSE/sdcardfs) - fall back to a reference file
+            }
+        }
+
+        File refFile = new File(backupFile.getParentFile(), backupFile.getName() + REF_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(refFile)) {
+            out.write((REF_PREFIX + hash + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return refFile;
+    }
+
+    // Hash referenced by a .ref file, or null if the file is not a reference
+    public static String readReference(File refFile) {
+        if (refFile == null || !refFile.getName().endsWith(REF_SUFFIX) || refFile.length() > 128) {
+            return null;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(refFile, "r")) {
+            byte[] data = new byte[(int) in.length()];
+            in.readFully(data);
+            String content = new String(data, StandardCharsets.UTF_8).trim();
+            return content.startsWith(REF_PREFIX) ? content.substring(REF_PREFIX.length()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Copies a backup (hard link or .ref) back to target
+    public boolean restore(File backup, File target) {
+        String hash = readReference(backup);
+        File source = hash != null ? getObject(hash) : backup;
+        if (!source.isFile()) {
+            LogUtils.logDebug("Backup content missing: " + backup.getName());
+            return false;
+        }
+        try {
+            File temp = new File(target.getParentFile(), target.getName() + ".tmp");
+            copy(source, temp);
+            temp.setWritable(true);
+            return temp.renameTo(target);
+        } catch (IOException e) {
+            LogUtils.logDebug("Restore failed for " + backup.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the objects no .ref file under referenceDirs points to. A hard-linked backup
+     * keeps its data through the link itself, so only .ref files count as references.
+     * @return number of objects removed
+     */
+    public int prune(File... referenceDirs) {
+        File[] buckets = rootDir.listFiles();
+        if (buckets == null) {
+            return 0;
+        }
+
+        Set<String> referenced = new HashSet<>();
+        for (File dir : referenceDirs) {
+            collectReferences(dir, referenced);
+        }
+
+        long cutoff = System.currentTimeMillis() - PRUNE_GRACE_MS;
+        int removed = 0;
+        long freed = 0;
+        for (File bucket : buckets) {
+            File[] objects = bucket.listFiles();
+            if (objects == null) {
+                continue;
+            }
+            for (File object : objects) {
+                if (!referenced.contains(object.getName()) && object.lastModified() < cutoff) {
+                    long size = object.length();
+                    if (object.delete()) {
+                        removed++;
+                        freed += size;
+                    }
+                }
+            }
+            bucket.delete(); // Only succeeds when empty
+        }
+        if (removed > 0) {
+            LogUtils.logDebug("Pruned " + removed + " unreferenced objects from " + rootDir.getParentFile().getName() +
+                              " (" + FileUtils.formatFileSize(freed) + ")");
+        }
+        return removed;
+    }
+
+    private static void collectReferences(File dir, Set<String> hashes) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (!STORE_DIR_NAME.equals(file.getName())) {
+                    collectReferences(file, hashes);
+                }
+            } else {
+                String hash = readReference(file);
+                if (hash != null) {
+                    hashes.add(hash);
+                }
+            }
+        }
+    }
+
+    private static void copy(File source, File target) throws IOException {
+        IoUtils.copy(source, target, null);
+    }
+}
@@ -0,0 +1,267 @@
+// File: DexValidator.java (Component) - Structural validation of DEX/JAR mods without class loading
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/DexValidator.java
+
+package com.terrarialoader.loader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.Adler32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Validates DEX and JAR mods from their headers only.
+ *
+ * DEX: magic + version, header size, endian tag, file_size against the real length,
+ * class_defs bounds and the Adler-32 checksum over the rest of the file.
+ * JAR: every classes*.dex entry of the zip central directory (read by ZipFile) is
+ * listed and its DEX header checked against the entry's uncompressed size.
+ * Nothing is handed to DexClassLoader.
+ */
+public class DexValidator {
+    private static final int DEX_HEADER_SIZE = 0x70;
+    private static final int ENDIAN_CONSTANT = 0x12345678;
+    private static final int CLASS_DEF_ITEM_SIZE = 32;
+
+    private static final Pattern CLASSES_DEX = Pattern.compile("classes\\d*\\.dex");
+
+    public static class Result {
+        private final boolean valid;
+        private final String error;
+        private final List<DexHeader> dexFiles;
+
+        private Result(boolean valid, String error, List<DexHeader> dexFiles) {
+            this.valid = valid;
+            this.error = error;
+            this.dexFiles = dexFiles;
+        }
+
+        static Result ok(List<DexHeader> dexFiles) {
+            return new Result(true, null, dexFiles);
+        }
+
+        static Result fail(String error) {
+            return new Result(false, error, new ArrayList<>());
+        }
+
+        public boolean isValid() { return valid; }
+        public String getError() { return error; }
+        public List<DexHeader> getDexFiles() { return dexFiles; }
+
+        public int getClassDefsCount() {
+            int count = 0;
+            for (DexHeader header : dexFiles) {
+                count += header.getClassDefsSize();
+            }
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            if (!valid) {
+                return "invalid: " + error;
+            }
+            return dexFiles.size() + " dex file(s), " + getClassDefsCount() + " class defs";
+        }
+    }
+
+    public static class DexHeader {
+        private final String name;
+        private final String version;
+        private final long checksum;
+        private final String signature;
+        private final long fileSize;
+        private final int classDefsSize;
+
+        DexHeader(String name, String version, long checksum, String signature, long fileSize, int classDefsSize) {
+            this.name = name;
+            this.version = version;
+            this.checksum = checksum;
+            this.signature = signature;
+            this.fileSize = fileSize;
+            this.classDefsSize = classDefsSize;
+        }
+
+        public String getName() { return name; }
+        public String getVersion() { return version; }
+        public long getChecksum() { return checksum; }
+        public String getSignature() { return signature; }
+        public long getFileSize() { return fileSize; }
+        public int getClassDefsSize() { return classDefsSize; }
+    }
+
+    public static Result validate(File modFile) {
+        return validate(modFile, modFile != null ? modFile.getName() : null);
+    }
+
+    // modName decides the format, so staged files (e.g. "mod.jar.tmp") can be checked before rename
+    public static Result validate(File modFile, String modName) {
+        if (modFile == null || !modFile.isFile()) {
+            return Result.fail("File not found");
+        }
+        String name = (modName != null ? modName : modFile.getName()).toLowerCase().replace(".disabled", "");
+        try {
+            if (name.endsWith(".dex")) {
+                return validateDex(modFile);
+            }
+            if (name.endsWith(".jar")) {
+                return validateJar(modFile);
+            }
+            return Result.fail("Not a DEX or JAR file");
+        } catch (IOException | RuntimeException e) {
+            return Result.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    // === DEX ===
+
+    /**
+     * Incremental DEX check for data that is being streamed anyway (e.g. an install copy):
+     * captures the header from the first bytes and feeds the rest into Adler-32.
+     */
+    public static class StreamingDexCheck {
+        private final String name;
+        private final byte[] header = new byte[DEX_HEADER_SIZE];
+        private final Adler32 adler = new Adler32();
+        private int headerBytes;
+        private long totalBytes;
+
+        public StreamingDexCheck(String name) {
+            this.name = name;
+        }
+
+        public void update(byte[] data, int offset, int length) {
+            if (headerBytes < DEX_HEADER_SIZE) {
+                int copy = Math.min(length, DEX_HEADER_SIZE - headerBytes);
+                System.arraycopy(data, offset, header, headerBytes, copy);
+                headerBytes += copy;
+            }
+
+            // Adler-32 covers everything after the magic and checksum fields
+            int skip = (int) Math.max(0, Math.min(length, 12 - totalBytes));
+            if (length > skip) {
+                adler.update(data, offset + skip, length - skip);
+            }
+            totalBytes += length;
+        }
+
+        // Early reject once the header is in, so a bad file can be aborted mid-copy
+        public boolean isHeaderRejected() {
+            return headerBytes >= 4 && (header[0] != 'd' || header[1] != 'e' || header[2] != 'x' || header[3] != '\n');
+        }
+
+        public Result finish() {
+            if (headerBytes < DEX_HEADER_SIZE) {
+                return Result.fail(name + ": too small for a DEX header");
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+                DexHeader dex = parseHeader(name, buffer, totalBytes);
+                if (adler.getValue() != dex.getChecksum()) {
+                    return Result.fail("DEX checksum mismatch (file is corrupted)");
+                }
+                List<DexHeader> dexFiles = new ArrayList<>();
+                dexFiles.add(dex);
+                return Result.ok(dexFiles);
+            } catch (IOException e) {
+                return Result.fail(e.getMessage());
+            }
+        }
+    }
+
+    private static Result validateDex(File dexFile) throws IOException {
+        StreamingDexCheck check = new StreamingDexCheck(dexFile.getName());
+        try (FileChannel channel = new FileInputStream(dexFile).getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                check.update(buffer.array(), 0, read);
+                buffer.clear();
+            }
+        }
+        return check.finish();
+    }
+
+    private static DexHeader parseHeader(String name, ByteBuffer header, long actualSize) throws IOException {
+        byte[] magic = new byte[8];
+        System.arraycopy(header.array(), 0, magic, 0, 8);
+        if (magic[0] != 'd' || magic[1] != 'e' || magic[2] != 'x' || magic[3] != '\n' || magic[7] != 0) {
+            throw new IOException(name + ": invalid DEX magic");
+        }
+        String version = new String(magic, 4, 3, StandardCharsets.US_ASCII);
+        if (!version.matches("0[0-9]{2}")) {
+            throw new IOException(name + ": unknown DEX version " + version);
+        }
+
+        long checksum = header.getInt(8) & 0xFFFFFFFFL;
+        StringBuilder signature = new StringBuilder(40);
+        for (int i = 12; i < 32; i++) {
+            signature.append(String.format("%02x", header.get(i) & 0xFF));
+        }
+        long fileSize = header.getInt(32) & 0xFFFFFFFFL;
+        int headerSize = header.getInt(36);
+        int endianTag = header.getInt(40);
+        int classDefsSize = header.getInt(96);
+        long classDefsOff = header.getInt(100) & 0xFFFFFFFFL;
+
+        if (headerSize != DEX_HEADER_SIZE) {
+            throw new IOException(name + ": unexpected header size " + headerSize);
+        }
+        if (endianTag != ENDIAN_CONSTANT) {
+            throw new IOException(name + ": unsupported endian tag");
+        }
+        if (fileSize != actualSize) {
+            throw new IOException(name + ": header declares " + fileSize + " bytes but file has " + actualSize);
+        }
+        if (classDefsSize <= 0) {
+            throw new IOException(name + ": contains no classes");
+        }
+        if (classDefsOff < DEX_HEADER_SIZE || classDefsOff + (long) classDefsSize * CLASS_DEF_ITEM_SIZE > fileSize) {
+            throw new IOException(name + ": class_defs section is out of bounds");
+        }
+
+        return new DexHeader(name, version, checksum, signature.toString(), fileSize, classDefsSize);
+    }
+
+    // === JAR ===
+
+    private static Result validateJar(File jarFile) throws IOException {
+        List<DexHeader> dexFiles = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(jarFile)) { // Opening parses only the central directory
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String entryName = entry.getName();
+                if (!CLASSES_DEX.matcher(entryName).matches()) {
+                    continue;
+                }
+                ByteBuffer header = ByteBuffer.allocate(DEX_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                try (InputStream in = zip.getInputStream(entry)) {
+                    int total = 0;
+                    while (total < DEX_HEADER_SIZE) {
+                        int read = in.read(header.array(), total, DEX_HEADER_SIZE - total);
+                        if (read < 0) {
+                            return Result.fail(entryName + " is truncated");
+                        }
+                        total += read;
+                    }
+                }
+                dexFiles.add(parseHeader(entryName, header, entry.getSize()));
+            }
+        }
+        if (dexFiles.isEmpty()) {
+            return Result.fail("JAR contains no classes*.dex (not dexed for Android?)");
+        }
+        return Result.ok(dexFiles);
+    }
+}
@@ -8,7 +8,9 @@ import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager;
 import android.os.Build;
 import com.terrarialoader.loader.MelonLoaderManager;
+import com.terrarialoader.loader.ModLoadMetrics;
 import com.terrarialoader.loader.ModManager;
+import com.terrarialoader.loader.StartupTimeline;
 import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -62,6 +64,9 @@ public class DiagnosticBundleExporter {
                 // Add mod information
                 addModInformation(context, zos);
                 
+                // Add per-mod load metrics
+                addModLoadMetrics(context, zos);
+                
                 // Add loader information
                 addLoaderInformation(context, zos);
                 
@@ -121,7 +126,8 @@ public class DiagnosticBundleExporter {
         report.append("5. mod_info.txt - Installed mod information\n");
         report.append("6. loader_info.txt - MelonLoader installation details\n");
         report.append("7. directory_structure.txt - File system layout\n");
-        report.append("8. configuration/ - Configuration files\n\n");
+        report.append("8. configuration/ - Configuration files\n");
+        report.append("9. mod_load_metrics.txt - Per-mod load timing, heap usage and startup timeline\n\n");
         
         addTextFile(zos, "diagnostic_report.txt", report.toString());
     }
@@ -298,6 +304,45 @@ public class DiagnosticBundleExporter {
         addTextFile(zos, "mod_info.txt", modInfo.toString());
     }
     
+    /**
+     * Add per-mod load timing and memory metrics
+     */
+    private static void addModLoadMetrics(Context context, ZipOutputStream zos) throws IOException {
+        StringBuilder metricsInfo = new StringBuilder();
+        
+        metricsInfo.append("=== MOD LOAD METRICS ===\n\n");
+        
+        try {
+            List<ModLoadMetrics> metrics = ModManager.getLoadMetrics();
+            if (metrics != null && !metrics.isEmpty()) {
+                metricsInfo.append(ModManager.getLoadMetricsReport());
+            } else {
+                metricsInfo.append("No mods were loaded in this process\n");
+            }
+            metricsInfo.append("\n");
+            
+            List<ModLoadMetrics> overruns = ModManager.getWatchdogOverruns();
+            metricsInfo.append("Watchdog overruns: ").append(overruns.size()).append("\n");
+            for (ModLoadMetrics overrun : overruns) {
+                metricsInfo.append("- ").append(overrun.getModName());
+                metricsInfo.append(overrun.isQuarantined() ? " (quarantined)" : "").append("\n");
+            }
+            metricsInfo.append("\n");
+            
+            StartupTimeline timeline = ModManager.getStartupTimeline();
+            if (timeline != null) {
+                metricsInfo.append(timeline.format());
+            } else {
+                metricsInfo.append("No startup timeline recorded (mods were not bootstrapped in this process)\n");
+            }
+            
+        } catch (Exception e) {
+            metricsInfo.append("Error retrieving mod load metrics: ").append(e.getMessage()).append("\n");
+        }
+        
+        addTextFile(zos, "mod_load_metrics.txt", metricsInfo.toString());
+    }
+    
     /**
      * Add loader information
      */
@@ -0,0 +1,213 @@
+// File: DirectoryStats.java (Utility Class) - Single-pass, cached directory statistics
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/util/DirectoryStats.java
+
+package com.terrarialoader.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Size, file count and per-type breakdown of a directory tree, computed in one pass
+ * on a fork/join pool (one task per subdirectory).
+ *
+ * Listings are cached per directory, keyed by that directory's mtime: a directory whose
+ * mtime is unchanged is not listed again and its cached subdirectories are revalidated
+ * the same way. File sizes are never cached - every file is stat-ed on each walk, since
+ * a file growing in place (AppLog.txt, .tlog, game logs) does not touch its directory.
+ */
+public class DirectoryStats {
+    // Directories modified this recently are not cached (coarse mtime granularity on some filesystems)
+    private static final long SETTLE_MS = 2000;
+
+    private static final ForkJoinPool POOL =
+            new ForkJoinPool(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+    private static final Map<String, Node> CACHE = new ConcurrentHashMap<>();
+
+    private final long totalSize;
+    private final int fileCount;
+    private final int directoryCount;
+    private final Map<String, long[]> byType; // extension -> {count, bytes}
+
+    private DirectoryStats(long totalSize, int fileCount, int directoryCount, Map<String, long[]> byType) {
+        this.totalSize = totalSize;
+        this.fileCount = fileCount;
+        this.directoryCount = directoryCount;
+        this.byType = byType;
+    }
+
+    public static DirectoryStats of(File dir) {
+        if (dir == null || !dir.exists()) {
+            return new DirectoryStats(0, 0, 0, Collections.emptyMap());
+        }
+        if (!dir.isDirectory()) {
+            Map<String, long[]> type = new HashMap<>();
+            type.put(typeOf(dir.getName()), new long[]{1, dir.length()});
+            return new DirectoryStats(dir.length(), 1, 0, type);
+        }
+        return POOL.invoke(new WalkTask(dir));
+    }
+
+    // Getters
+    public long getTotalSize() { return totalSize; }
+    public int getFileCount() { return fileCount; }
+    public int getDirectoryCount() { return directoryCount; }
+
+    public int getCount(String type) {
+        long[] entry = byType.get(type);
+        return entry != null ? (int) entry[0] : 0;
+    }
+
+    public long getSize(String type) {
+        long[] entry = byType.get(type);
+        return entry != null ? entry[1] : 0;
+    }
+
+    public Map<String, Integer> getCountsByType() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : byType.entrySet()) {
+            counts.put(entry.getKey(), (int) entry.getValue()[0]);
+        }
+        return counts;
+    }
+
+    public Map<String, Long> getSizesByType() {
+        Map<String, Long> sizes = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : byType.entrySet()) {
+            sizes.put(entry.getKey(), entry.getValue()[1]);
+        }
+        return sizes;
+    }
+
+    // "Mod.dll.disabled" -> "dll", "README" -> ""
+    public static String typeOf(String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".disabled")) {
+            name = name.substring(0, name.length() - ".disabled".length());
+        }
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(dot + 1) : "";
+    }
+
+    @Override
+    public String toString() {
+        return fileCount + " files in " + directoryCount + " directories, " + FileUtils.formatFileSize(totalSize);
+    }
+
+    // === WALK ===
+
+    // Names of the direct contents of one directory, valid while the directory's mtime is unchanged
+    private static class Node {
+        final long lastModified;
+        final List<String> files;
+        final List<String> subdirectories;
+
+        Node(long lastModified, List<String> files, List<String> subdirectories) {
+            this.lastModified = lastModified;
+            this.files = files;
+            this.subdirectories = subdirectories;
+        }
+    }
+
+    private static class WalkTask extends RecursiveTask<DirectoryStats> {
+        private final File dir;
+
+        WalkTask(File dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        protected DirectoryStats compute() {
+            Node node = nodeFor(dir);
+            if (node == null) {
+                return new DirectoryStats(0, 0, 0, Collections.emptyMap());
+            }
+
+            List<WalkTask> children = new ArrayList<>(node.subdirectories.size());
+            for (String name : node.subdirectories) {
+                WalkTask child = new WalkTask(new File(dir, name));
+                child.fork();
+                children.add(child);
+            }
+
+            // Sizes are read fresh: a cached listing says nothing about files that grew in place
+            long size = 0;
+            int files = 0;
+            Map<String, long[]> types = new HashMap<>();
+            for (String name : node.files) {
+                long length = new File(dir, name).length();
+                size += length;
+                files++;
+                String type = typeOf(name);
+                long[] entry = types.get(type);
+                if (entry == null) {
+                    types.put(type, new long[]{1, length});
+                } else {
+                    entry[0]++;
+                    entry[1] += length;
+                }
+            }
+
+            int directories = node.subdirectories.size();
+            for (WalkTask child : children) {
+                DirectoryStats stats = child.join();
+                size += stats.totalSize;
+                files += stats.fileCount;
+                directories += stats.directoryCount;
+                merge(types, stats.byType);
+            }
+            return new DirectoryStats(size, files, directories, types);
+        }
+
+        private static Node nodeFor(File dir) {
+            String path = dir.getAbsolutePath();
+            long lastModified = dir.lastModified();
+            Node cached = CACHE.get(path);
+            if (cached != null && cached.lastModified == lastModified && lastModified != 0) {
+                return cached;
+            }
+
+            File[] entries = dir.listFiles();
+            if (entries == null) {
+                CACHE.remove(path);
+                return null;
+            }
+
+            List<String> files = new ArrayList<>();
+            List<String> subdirectories = new ArrayList<>();
+            for (File entry : entries) {
+                if (entry.isDirectory()) {
+                    subdirectories.add(entry.getName());
+                } else {
+                    files.add(entry.getName());
+                }
+            }
+
+            Node node = new Node(lastModified, files, subdirectories);
+            if (System.currentTimeMillis() - lastModified > SETTLE_MS) {
+                CACHE.put(path, node);
+            } else {
+                CACHE.remove(path);
+            }
+            return node;
+        }
+
+        private static void merge(Map<String, long[]> into, Map<String, long[]> from) {
+            for (Map.Entry<String, long[]> entry : from.entrySet()) {
+                long[] existing = into.get(entry.getKey());
+                if (existing == null) {
+                    into.put(entry.getKey(), new long[]{entry.getValue()[0], entry.getValue()[1]});
+                } else {
+                    existing[0] += entry.getValue()[0];
+                    existing[1] += entry.getValue()[1];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,559 @@
+// File: DllAssemblyInfo.java (Component) - PE/COFF + CLI metadata reader for DLL mods
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/DllAssemblyInfo.java
+
+package com.terrarialoader.loader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Reads the identity of a .NET assembly from its PE/COFF and CLI headers (ECMA-335 II.24/II.25)
+ * using positional reads only: DOS/PE headers, section table, CLI header, metadata root and the
+ * handful of metadata table rows needed (Assembly, AssemblyRef and the assembly-level
+ * TargetFrameworkAttribute). Method bodies and resources are never read.
+ */
+public class DllAssemblyInfo {
+    private static final int IMAGE_FILE_DLL = 0x2000;
+    private static final int PE32_MAGIC = 0x10B;
+    private static final int PE32_PLUS_MAGIC = 0x20B;
+    private static final int CLI_HEADER_DIRECTORY = 14;
+    private static final int METADATA_SIGNATURE = 0x424A5342; // "BSJB"
+
+    // Metadata table ids used directly
+    private static final int TABLE_TYPEREF = 0x01;
+    private static final int TABLE_MEMBERREF = 0x0A;
+    private static final int TABLE_CUSTOMATTRIBUTE = 0x0C;
+    private static final int TABLE_ASSEMBLY = 0x20;
+    private static final int TABLE_ASSEMBLYREF = 0x23;
+    private static final int TABLE_COUNT = 0x2D;
+
+    private boolean valid;
+    private String error;
+    private boolean managed;
+    private String assemblyName;
+    private String version;
+    private String runtimeVersion;
+    private String targetFramework;
+    private final List<String> referencedAssemblies = new ArrayList<>();
+
+    private DllAssemblyInfo() {
+    }
+
+    public static DllAssemblyInfo read(File dllFile) {
+        DllAssemblyInfo info = new DllAssemblyInfo();
+        if (dllFile == null || !dllFile.isFile() || dllFile.length() == 0) {
+            info.error = "File is missing or empty";
+            return info;
+        }
+
+        try (FileChannel channel = new FileInputStream(dllFile).getChannel()) {
+            new Parser(channel, info).parse();
+        } catch (IOException | RuntimeException e) {
+            info.valid = false;
+            info.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        return info;
+    }
+
+    public static DllAssemblyInfo invalid(String error) {
+        DllAssemblyInfo info = new DllAssemblyInfo();
+        info.error = error;
+        return info;
+    }
+
+    // Getters
+    public boolean isValid() { return valid; }
+    public String getError() { return error; }
+    public boolean isManaged() { return managed; }
+    public String getAssemblyName() { return assemblyName; }
+    public String getVersion() { return version; }
+    public String getRuntimeVersion() { return runtimeVersion; }
+    public String getTargetFramework() { return targetFramework; }
+    public List<String> getReferencedAssemblies() { return new ArrayList<>(referencedAssemblies); }
+
+    public boolean references(String assembly) {
+        for (String reference : referencedAssemblies) {
+            if (reference.equalsIgnoreCase(assembly)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // === CACHE SERIALIZATION ===
+
+    public JSONObject toJson() throws org.json.JSONException {
+        JSONObject json = new JSONObject();
+        json.put("valid", valid);
+        json.put("managed", managed);
+        if (error != null) json.put("error", error);
+        if (assemblyName != null) json.put("assemblyName", assemblyName);
+        if (version != null) json.put("version", version);
+        if (runtimeVersion != null) json.put("runtimeVersion", runtimeVersion);
+        if (targetFramework != null) json.put("targetFramework", targetFramework);
+        JSONArray refs = new JSONArray();
+        for (String reference : referencedAssemblies) {
+            refs.put(reference);
+        }
+        json.put("references", refs);
+        return json;
+    }
+
+    public static DllAssemblyInfo fromJson(JSONObject json) throws org.json.JSONException {
+        DllAssemblyInfo info = new DllAssemblyInfo();
+        info.valid = json.optBoolean("valid", false);
+        info.managed = json.optBoolean("managed", false);
+        info.error = json.optString("error", null);
+        info.assemblyName = json.optString("assemblyName", null);
+        info.version = json.optString("version", null);
+        info.runtimeVersion = json.optString("runtimeVersion", null);
+        info.targetFramework = json.optString("targetFramework", null);
+        JSONArray refs = json.optJSONArray("references");
+        if (refs != null) {
+            for (int i = 0; i < refs.length(); i++) {
+                info.referencedAssemblies.add(refs.getString(i));
+            }
+        }
+        return info;
+    }
+
+    @Override
+    public String toString() {
+        if (!valid) {
+            return "Invalid DLL: " + error;
+        }
+        if (!managed) {
+            return "Native DLL (no CLI header)";
+        }
+        return assemblyName + " v" + version +
+               (targetFramework != null ? " [" + targetFramework + "]" : " [runtime " + runtimeVersion + "]") +
+               ", " + referencedAssemblies.size() + " references";
+    }
+
+    // === PARSER ===
+
+    private static class Parser {
+        private final FileChannel channel;
+        private final DllAssemblyInfo info;
+
+        private int[] sectionVirtualAddress;
+        private int[] sectionVirtualSize;
+        private int[] sectionRawPointer;
+        private int[] sectionRawSize;
+
+        private long stringsOffset = -1;
+        private long blobOffset = -1;
+        private long tablesOffset = -1;
+
+        private final int[] rowCounts = new int[TABLE_COUNT];
+        private final int[] rowSizes = new int[TABLE_COUNT];
+        private final long[] tableOffsets = new long[TABLE_COUNT];
+        private int stringIndexSize;
+        private int guidIndexSize;
+        private int blobIndexSize;
+
+        Parser(FileChannel channel, DllAssemblyInfo info) {
+            this.channel = channel;
+            this.info = info;
+        }
+
+        void parse() throws IOException {
+            ByteBuffer dos = read(0, 64);
+            if (dos.getShort(0) != 0x5A4D) { // "MZ"
+                throw new IOException("Missing MZ signature");
+            }
+            long peOffset = dos.getInt(0x3C) & 0xFFFFFFFFL;
+
+            ByteBuffer coff = read(peOffset, 24);
+            if (coff.getInt(0) != 0x00004550) { // "PE\0\0"
+                throw new IOException("Missing PE signature");
+            }
+            int sectionCount = coff.getShort(6) & 0xFFFF;
+            int optionalHeaderSize = coff.getShort(20) & 0xFFFF;
+            int characteristics = coff.getShort(22) & 0xFFFF;
+            if ((characteristics & IMAGE_FILE_DLL) == 0) {
+                throw new IOException("PE image is not a DLL");
+            }
+
+            ByteBuffer optional = read(peOffset + 24, optionalHeaderSize);
+            int magic = optional.getShort(0) & 0xFFFF;
+            int directoriesStart;
+            if (magic == PE32_MAGIC) {
+                directoriesStart = 96;
+            } else if (magic == PE32_PLUS_MAGIC) {
+                directoriesStart = 112;
+            } else {
+                throw new IOException("Unknown optional header magic 0x" + Integer.toHexString(magic));
+            }
+            int directoryCount = optional.getInt(directoriesStart - 4);
+
+            readSections(peOffset + 24 + optionalHeaderSize, sectionCount);
+            info.valid = true;
+
+            int cliDirectory = directoriesStart + CLI_HEADER_DIRECTORY * 8;
+            if (directoryCount <= CLI_HEADER_DIRECTORY || cliDirectory + 8 > optionalHeaderSize
+                || optional.getInt(cliDirectory) == 0) {
+                return; // Native DLL - valid PE, but not a .NET assembly
+            }
+
+            ByteBuffer cli = read(rvaToOffset(optional.getInt(cliDirectory)), 72);
+            info.managed = true;
+            parseMetadata(rvaToOffset(cli.getInt(8)));
+        }
+
+        private void readSections(long offset, int count) throws IOException {
+            ByteBuffer table = read(offset, count * 40);
+            sectionVirtualSize = new int[count];
+            sectionVirtualAddress = new int[count];
+            sectionRawSize = new int[count];
+            sectionRawPointer = new int[count];
+            for (int i = 0; i < count; i++) {
+                int base = i * 40;
+                sectionVirtualSize[i] = table.getInt(base + 8);
+                sectionVirtualAddress[i] = table.getInt(base + 12);
+                sectionRawSize[i] = table.getInt(base + 16);
+                sectionRawPointer[i] = table.getInt(base + 20);
+            }
+        }
+
+        private long rvaToOffset(int rva) throws IOException {
+            for (int i = 0; i < sectionVirtualAddress.length; i++) {
+                int size = Math.max(sectionVirtualSize[i], sectionRawSize[i]);
+                if (rva >= sectionVirtualAddress[i] && rva < sectionVirtualAddress[i] + size) {
+                    return (rva - sectionVirtualAddress[i]) + (sectionRawPointer[i] & 0xFFFFFFFFL);
+                }
+            }
+            throw new IOException("RVA 0x" + Integer.toHexString(rva) + " is outside all sections");
+        }
+
+        private void parseMetadata(long metadataOffset) throws IOException {
+            ByteBuffer root = read(metadataOffset, 16);
+            if (root.getInt(0) != METADATA_SIGNATURE) {
+                throw new IOException("Missing CLI metadata signature");
+            }
+            int versionLength = root.getInt(12);
+            if (versionLength < 0 || versionLength > 255) {
+                throw new IOException("Corrupt metadata version length");
+            }
+            ByteBuffer rest = read(metadataOffset + 16, versionLength + 4);
+            info.runtimeVersion = cString(rest, 0, versionLength);
+            int streamCount = rest.getShort(versionLength + 2) & 0xFFFF;
+
+            // Stream headers: offset, size, null-terminated name padded to 4 bytes
+            long position = metadataOffset + 16 + versionLength + 4;
+            ByteBuffer headers = read(position, Math.min(streamCount * 40, (int) Math.max(0, channel.size() - position)));
+            int cursor = 0;
+            for (int i = 0; i < streamCount; i++) {
+                long streamOffset = metadataOffset + (headers.getInt(cursor) & 0xFFFFFFFFL);
+                int nameStart = cursor + 8;
+                String name = cString(headers, nameStart, 32);
+                cursor = nameStart + ((name.length() + 4) & ~3);
+
+                if ("#~".equals(name) || "#-".equals(name)) {
+                    tablesOffset = streamOffset;
+                } else if ("#Strings".equals(name)) {
+                    stringsOffset = streamOffset;
+                } else if ("#Blob".equals(name)) {
+                    blobOffset = streamOffset;
+                }
+            }
+            if (tablesOffset < 0 || stringsOffset < 0) {
+                throw new IOException("Metadata is missing the tables or strings stream");
+            }
+
+            parseTables();
+        }
+
+        private void parseTables() throws IOException {
+            ByteBuffer header = read(tablesOffset, 24);
+            int heapSizes = header.get(6) & 0xFF;
+            long validMask = header.getLong(8);
+            stringIndexSize = (heapSizes & 0x01) != 0 ? 4 : 2;
+            guidIndexSize = (heapSizes & 0x02) != 0 ? 4 : 2;
+            blobIndexSize = (heapSizes & 0x04) != 0 ? 4 : 2;
+
+            int presentTables = Long.bitCount(validMask);
+            ByteBuffer rows = read(tablesOffset + 24, presentTables * 4);
+            int index = 0;
+            for (int table = 0; table < 64; table++) {
+                if ((validMask & (1L << table)) != 0) {
+                    int count = rows.getInt(index * 4);
+                    if (table < TABLE_COUNT) {
+                        rowCounts[table] = count;
+                    } else if (count > 0) {
+                        throw new IOException("Unknown metadata table 0x" + Integer.toHexString(table));
+                    }
+                    index++;
+                }
+            }
+
+            long offset = tablesOffset + 24 + presentTables * 4L;
+            if ((heapSizes & 0x40) != 0) {
+                offset += 4; // Extra data field in uncompressed (#-) streams
+            }
+            computeRowSizes();
+            for (int table = 0; table < TABLE_COUNT; table++) {
+                tableOffsets[table] = offset;
+                offset += (long) rowCounts[table] * rowSizes[table];
+            }
+
+            readAssembly();
+            readAssemblyRefs();
+            readTargetFramework();
+        }
+
+        private void readAssembly() throws IOException {
+            if (rowCounts[TABLE_ASSEMBLY] == 0) {
+                throw new IOException("Module has no Assembly manifest (netmodule)");
+            }
+            ByteBuffer row = read(tableOffsets[TABLE_ASSEMBLY], rowSizes[TABLE_ASSEMBLY]);
+            info.version = (row.getShort(4) & 0xFFFF) + "." + (row.getShort(6) & 0xFFFF) + "." +
+                           (row.getShort(8) & 0xFFFF) + "." + (row.getShort(10) & 0xFFFF);
+            int nameColumn = 16 + blobIndexSize;
+            info.assemblyName = readString(index(row, nameColumn, stringIndexSize));
+        }
+
+        private void readAssemblyRefs() throws IOException {
+            int count = rowCounts[TABLE_ASSEMBLYREF];
+            if (count == 0) {
+                return;
+            }
+            int rowSize = rowSizes[TABLE_ASSEMBLYREF];
+            ByteBuffer rowsBuffer = read(tableOffsets[TABLE_ASSEMBLYREF], count * rowSize);
+            int nameColumn = 12 + blobIndexSize;
+            for (int i = 0; i < count; i++) {
+                info.referencedAssemblies.add(readString(index(rowsBuffer, i * rowSize + nameColumn, stringIndexSize)));
+            }
+        }
+
+        // Finds [assembly: TargetFramework(".NETCoreApp,Version=v6.0")] by binary search on the
+        // CustomAttribute table, which is sorted by its Parent column
+        private void readTargetFramework() throws IOException {
+            int count = rowCounts[TABLE_CUSTOMATTRIBUTE];
+            if (count == 0 || blobOffset < 0) {
+                return;
+            }
+            int parentSize = codedIndexSize(5, HAS_CUSTOM_ATTRIBUTE);
+            int typeSize = codedIndexSize(3, CUSTOM_ATTRIBUTE_TYPE);
+            int rowSize = rowSizes[TABLE_CUSTOMATTRIBUTE];
+            long assemblyParent = (1L << 5) | 14; // HasCustomAttribute tag 14 = Assembly, row 1
+
+            int low = 0;
+            int high = count - 1;
+            int first = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long parent = index(read(tableOffsets[TABLE_CUSTOMATTRIBUTE] + (long) mid * rowSize, parentSize), 0, parentSize);
+                if (parent < assemblyParent) {
+                    low = mid + 1;
+                } else {
+                    if (parent == assemblyParent) {
+                        first = mid;
+                    }
+                    high = mid - 1;
+                }
+            }
+            if (first < 0) {
+                return;
+            }
+
+            for (int i = first; i < count; i++) {
+                ByteBuffer row = read(tableOffsets[TABLE_CUSTOMATTRIBUTE] + (long) i * rowSize, rowSize);
+                if (index(row, 0, parentSize) != assemblyParent) {
+                    break;
+                }
+                long type = index(row, parentSize, typeSize);
+                if ((type & 0x7) != 3) {
+                    continue; // Constructor is a MethodDef, not an imported attribute
+                }
+                if ("TargetFrameworkAttribute".equals(memberRefTypeName((int) (type >>> 3)))) {
+                    info.targetFramework = readAttributeString(index(row, parentSize + typeSize, blobIndexSize));
+                    return;
+                }
+            }
+        }
+
+        private String memberRefTypeName(int memberRefRow) throws IOException {
+            if (memberRefRow < 1 || memberRefRow > rowCounts[TABLE_MEMBERREF]) {
+                return null;
+            }
+            int parentSize = codedIndexSize(3, MEMBER_REF_PARENT);
+            ByteBuffer row = read(tableOffsets[TABLE_MEMBERREF] + (long) (memberRefRow - 1) * rowSizes[TABLE_MEMBERREF], parentSize);
+            long parent = index(row, 0, parentSize);
+            if ((parent & 0x7) != 1) {
+                return null; // Not a TypeRef
+            }
+            int typeRefRow = (int) (parent >>> 3);
+            if (typeRefRow < 1 || typeRefRow > rowCounts[TABLE_TYPEREF]) {
+                return null;
+            }
+            int scopeSize = codedIndexSize(2, RESOLUTION_SCOPE);
+            ByteBuffer typeRef = read(tableOffsets[TABLE_TYPEREF] + (long) (typeRefRow - 1) * rowSizes[TABLE_TYPEREF],
+                                      scopeSize + stringIndexSize);
+            return readString(index(typeRef, scopeSize, stringIndexSize));
+        }
+
+        // Custom attribute blob: compressed length, prolog 0x0001, then a SerString argument
+        private String readAttributeString(long blobIndex) throws IOException {
+            ByteBuffer blob = read(blobOffset + blobIndex, 8);
+            int[] header = compressedLength(blob, 0);
+            int length = header[0];
+            ByteBuffer value = read(blobOffset + blobIndex + header[1], length);
+            if (length < 3 || (value.getShort(0) & 0xFFFF) != 0x0001) {
+                return null;
+            }
+            if ((value.get(2) & 0xFF) == 0xFF) {
+                return null; // Null string
+            }
+            int[] stringHeader = compressedLength(value, 2);
+            int start = 2 + stringHeader[1];
+            int stringLength = Math.min(stringHeader[0], length - start);
+            return new String(value.array(), start, stringLength, StandardCharsets.UTF_8);
+        }
+
+        private String readString(long stringIndex) throws IOException {
+            ByteBuffer buffer = read(stringsOffset + stringIndex, 256);
+            return cString(buffer, 0, buffer.limit());
+        }
+
+        // === TABLE SCHEMA (ECMA-335 II.22) ===
+
+        private static final int[] TYPE_DEF_OR_REF = {0x02, 0x01, 0x1B};
+        private static final int[] HAS_CONSTANT = {0x04, 0x08, 0x17};
+        private static final int[] HAS_CUSTOM_ATTRIBUTE = {0x06, 0x04, 0x01, 0x02, 0x08, 0x09, 0x0A, 0x00, 0x0E, 0x17,
+                                                           0x14, 0x11, 0x1A, 0x1B, 0x20, 0x23, 0x26, 0x27, 0x28, 0x2A,
+                                                           0x2C, 0x2B};
+        private static final int[] HAS_FIELD_MARSHAL = {0x04, 0x08};
+        private static final int[] HAS_DECL_SECURITY = {0x02, 0x06, 0x20};
+        private static final int[] MEMBER_REF_PARENT = {0x02, 0x01, 0x1A, 0x06, 0x1B};
+        private static final int[] HAS_SEMANTICS = {0x14, 0x17};
+        private static final int[] METHOD_DEF_OR_REF = {0x06, 0x0A};
+        private static final int[] MEMBER_FORWARDED = {0x04, 0x06};
+        private static final int[] IMPLEMENTATION = {0x26, 0x23, 0x27};
+        private static final int[] CUSTOM_ATTRIBUTE_TYPE = {0x06, 0x0A};
+        private static final int[] RESOLUTION_SCOPE = {0x00, 0x1A, 0x23, 0x01};
+        private static final int[] TYPE_OR_METHOD_DEF = {0x02, 0x06};
+
+        private void computeRowSizes() {
+            int s = stringIndexSize;
+            int g = guidIndexSize;
+            int b = blobIndexSize;
+
+            rowSizes[0x00] = 2 + s + g * 3;                                             // Module
+            rowSizes[0x01] = codedIndexSize(2, RESOLUTION_SCOPE) + s * 2;               // TypeRef
+            rowSizes[0x02] = 4 + s * 2 + codedIndexSize(2, TYPE_DEF_OR_REF)
+                             + tableIndexSize(0x04) + tableIndexSize(0x06);             // TypeDef
+            rowSizes[0x03] = tableIndexSize(0x04);                                      // FieldPtr
+            rowSizes[0x04] = 2 + s + b;                                                 // Field
+            rowSizes[0x05] = tableIndexSize(0x06);                                      // MethodPtr
+            rowSizes[0x06] = 4 + 2 + 2 + s + b + tableIndexSize(0x08);                  // MethodDef
+            rowSizes[0x07] = tableIndexSize(0x08);                                      // ParamPtr
+            rowSizes[0x08] = 2 + 2 + s;                                                 // Param
+            rowSizes[0x09] = tableIndexSize(0x02) + codedIndexSize(2, TYPE_DEF_OR_REF); // InterfaceImpl
+            rowSizes[0x0A] = codedIndexSize(3, MEMBER_REF_PARENT) + s + b;              // MemberRef
+            rowSizes[0x0B] = 2 + codedIndexSize(2, HAS_CONSTANT) + b;                   // Constant
+            rowSizes[0x0C] = codedIndexSize(5, HAS_CUSTOM_ATTRIBUTE)
+                             + codedIndexSize(3, CUSTOM_ATTRIBUTE_TYPE) + b;            // CustomAttribute
+            rowSizes[0x0D] = codedIndexSize(1, HAS_FIELD_MARSHAL) + b;                  // FieldMarshal
+            rowSizes[0x0E] = 2 + codedIndexSize(2, HAS_DECL_SECURITY) + b;              // DeclSecurity
+            rowSizes[0x0F] = 2 + 4 + tableIndexSize(0x02);                              // ClassLayout
+            rowSizes[0x10] = 4 + tableIndexSize(0x04);                                  // FieldLayout
+            rowSizes[0x11] = b;                                                         // StandAloneSig
+            rowSizes[0x12] = tableIndexSize(0x02) + tableIndexSize(0x14);               // EventMap
+            rowSizes[0x13] = tableIndexSize(0x14);                                      // EventPtr
+            rowSizes[0x14] = 2 + s + codedIndexSize(2, TYPE_DEF_OR_REF);                // Event
+            rowSizes[0x15] = tableIndexSize(0x02) + tableIndexSize(0x17);               // PropertyMap
+            rowSizes[0x16] = tableIndexSize(0x17);                                      // PropertyPtr
+            rowSizes[0x17] = 2 + s + b;                                                 // Property
+            rowSizes[0x18] = 2 + tableIndexSize(0x06) + codedIndexSize(1, HAS_SEMANTICS); // MethodSemantics
+            rowSizes[0x19] = tableIndexSize(0x02) + codedIndexSize(1, METHOD_DEF_OR_REF) * 2; // MethodImpl
+            rowSizes[0x1A] = s;                                                         // ModuleRef
+            rowSizes[0x1B] = b;                                                         // TypeSpec
+            rowSizes[0x1C] = 2 + codedIndexSize(1, MEMBER_FORWARDED) + s + tableIndexSize(0x1A); // ImplMap
+            rowSizes[0x1D] = 4 + tableIndexSize(0x04);                                  // FieldRVA
+            rowSizes[0x1E] = 4 + 4;                                                     // EncLog
+            rowSizes[0x1F] = 4;                                                         // EncMap
+            rowSizes[0x20] = 4 + 2 * 4 + 4 + b + s * 2;                                 // Assembly
+            rowSizes[0x21] = 4;                                                         // AssemblyProcessor
+            rowSizes[0x22] = 4 * 3;                                                     // AssemblyOS
+            rowSizes[0x23] = 2 * 4 + 4 + b + s * 2 + b;                                 // AssemblyRef
+            rowSizes[0x24] = 4 + tableIndexSize(0x23);                                  // AssemblyRefProcessor
+            rowSizes[0x25] = 4 * 3 + tableIndexSize(0x23);                              // AssemblyRefOS
+            rowSizes[0x26] = 4 + s + b;                                                 // File
+            rowSizes[0x27] = 4 + 4 + s * 2 + codedIndexSize(2, IMPLEMENTATION);         // ExportedType
+            rowSizes[0x28] = 4 + 4 + s + codedIndexSize(2, IMPLEMENTATION);             // ManifestResource
+            rowSizes[0x29] = tableIndexSize(0x02) * 2;                                  // NestedClass
+            rowSizes[0x2A] = 2 + 2 + codedIndexSize(1, TYPE_OR_METHOD_DEF) + s;         // GenericParam
+            rowSizes[0x2B] = codedIndexSize(1, METHOD_DEF_OR_REF) + b;                  // MethodSpec
+            rowSizes[0x2C] = tableIndexSize(0x2A) + codedIndexSize(2, TYPE_DEF_OR_REF); // GenericParamConstraint
+        }
+
+        private int tableIndexSize(int table) {
+            return rowCounts[table] < 0x10000 ? 2 : 4;
+        }
+
+        private int codedIndexSize(int tagBits, int[] tables) {
+            int maxRows = 0;
+            for (int table : tables) {
+                maxRows = Math.max(maxRows, rowCounts[table]);
+            }
+            return maxRows < (1 << (16 - tagBits)) ? 2 : 4;
+        }
+
+        // === LOW-LEVEL READS ===
+
+        private ByteBuffer read(long position, int length) throws IOException {
+            if (position < 0 || length < 0 || position + length > channel.size()) {
+                if (position >= 0 && position < channel.size() && length > 0) {
+                    length = (int) (channel.size() - position); // Short read at end of file (strings)
+                } else {
+                    throw new IOException("Read past end of file at offset " + position);
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        private static long index(ByteBuffer buffer, int offset, int size) {
+            return size == 2 ? buffer.getShort(offset) & 0xFFFFL : buffer.getInt(offset) & 0xFFFFFFFFL;
+        }
+
+        // Returns {length, bytes used by the length prefix}
+        private static int[] compressedLength(ByteBuffer buffer, int offset) {
+            int first = buffer.get(offset) & 0xFF;
+            if ((first & 0x80) == 0) {
+                return new int[]{first, 1};
+            }
+            if ((first & 0xC0) == 0x80) {
+                return new int[]{((first & 0x3F) << 8) | (buffer.get(offset + 1) & 0xFF), 2};
+            }
+            return new int[]{((first & 0x1F) << 24) | ((buffer.get(offset + 1) & 0xFF) << 16) |
+                             ((buffer.get(offset + 2) & 0xFF) << 8) | (buffer.get(offset + 3) & 0xFF), 4};
+        }
+
+        private static String cString(ByteBuffer buffer, int offset, int maxLength) {
+            int end = offset;
+            int limit = Math.min(buffer.limit(), offset + maxLength);
+            while (end < limit && buffer.get(end) != 0) {
+                end++;
+            }
+            return new String(buffer.array(), offset, end - offset, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+// File: DllDeployer.java (Component) - Deploys DLL mods into the MelonLoader mods directory
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/DllDeployer.java
+
+package com.terrarialoader.loader;
+
+import android.os.Build;
+import com.terrarialoader.util.IoUtils;
+import com.terrarialoader.util.LogUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Deploys a DLL mod to its MelonLoader target with as little I/O as possible:
+ * - an existing hard link or a target with the same size + mtime is left alone
+ * - same size but different mtime falls back to a hash comparison
+ * - otherwise the target is replaced by a hard link to the source, or, when the
+ *   filesystem refuses links, a FileChannel.transferTo copy; both are staged in a
+ *   temp file and renamed into place so MelonLoader never sees a partial DLL
+ */
+public class DllDeployer {
+
+    public enum Result {
+        UP_TO_DATE("up to date"),
+        LINKED("hard-linked"),
+        COPIED("copied"),
+        FAILED("failed");
+
+        private final String displayName;
+
+        Result(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() { return displayName; }
+
+        public boolean isSuccess() { return this != FAILED; }
+    }
+
+    private static final String TEMP_SUFFIX = ".deploy.tmp";
+
+    public static Result deploy(File source, File target) {
+        if (source == null || target == null || !source.isFile()) {
+            return Result.FAILED;
+        }
+
+        try {
+            if (isUpToDate(source, target)) {
+                return Result.UP_TO_DATE;
+            }
+
+            File parent = target.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                LogUtils.logDebug("Failed to create DLL target directory: " + parent.getAbsolutePath());
+                return Result.FAILED;
+            }
+
+            File temp = new File(parent, target.getName() + TEMP_SUFFIX);
+            if (temp.exists()) {
+                temp.delete();
+            }
+
+            Result result;
+            if (tryLink(source, temp)) {
+                result = Result.LINKED;
+            } else {
+                IoUtils.copy(source, temp, null);
+                temp.setLastModified(source.lastModified());
+                result = Result.COPIED;
+            }
+
+            // rename(2) replaces the target atomically; Files.move needs API 26
+            if (!temp.renameTo(target)) {
+                try {
+                    IoUtils.copy(temp, target, null); // Filesystem refused the rename
+                    target.setLastModified(source.lastModified());
+                } finally {
+                    temp.delete();
+                }
+            }
+            LogUtils.logDebug("Deployed DLL (" + result.getDisplayName() + "): " + target.getName());
+            return result;
+
+        } catch (Exception e) {
+            LogUtils.logDebug("DLL deployment failed for " + source.getName() + ": " + e.getMessage());
+            return Result.FAILED;
+        }
+    }
+
+    // Size + mtime fast path; a hash is only computed when the sizes match but mtimes differ
+    public static boolean isUpToDate(File source, File target) throws IOException {
+        if (!target.isFile() || target.length() != source.length()) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && Files.isSameFile(source.toPath(), target.toPath())) {
+            return true; // Hard link to the source
+        }
+        if (target.lastModified() == source.lastModified()) {
+            return true;
+        }
+
+        if (Arrays.equals(IoUtils.sha256(source), IoUtils.sha256(target))) {
+            target.setLastModified(source.lastModified()); // Skip hashing next time
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean tryLink(File source, File link) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return false;
+        }
+        try {
+            Files.createLink(link.toPath(), source.toPath());
+            return true;
+        } catch (Exception e) {
+            // Not supported on this filesystem (e.g. FUSE/sdcardfs) - fall back to a copy
+            return false;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+// File: DllMetadataCache.java (Component) - Hash-keyed cache of parsed DLL assembly metadata
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/DllMetadataCache.java
+
+package com.terrarialoader.loader;
+
+import android.content.Context;
+import com.terrarialoader.util.IoUtils;
+import com.terrarialoader.util.LogUtils;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * Caches DllAssemblyInfo by SHA-256 of the DLL so each assembly is parsed once.
+ * A path + size + mtime index maps back to the hash, so an unchanged file costs
+ * a single stat on repeat launches - no hashing and no header reads. The cache is
+ * persisted to the app cache directory when a Context is available; lookups only mark
+ * it dirty, and the caller writes it once with flush() after a scan or load pass.
+ */
+public class DllMetadataCache {
+    private static final String CACHE_FILE = "dll_metadata_cache.json";
+    private static final int CACHE_VERSION = 1;
+
+    private static DllMetadataCache instance;
+
+    private final Map<String, IndexEntry> pathIndex = new HashMap<>();
+    private final Map<String, DllAssemblyInfo> infoByHash = new HashMap<>();
+    private File cacheFile;
+    private boolean dirty;
+
+    private static class IndexEntry {
+        final long size;
+        final long lastModified;
+        final String hash;
+
+        IndexEntry(long size, long lastModified, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+
+    private DllMetadataCache() {
+    }
+
+    public static synchronized DllMetadataCache getInstance() {
+        if (instance == null) {
+            instance = new DllMetadataCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the parsed metadata for a DLL, reading headers only when its content is new.
+     * @param context optional; when present the cache is loaded from and saved to disk
+     */
+    public synchronized DllAssemblyInfo getInfo(Context context, File dllFile) {
+        if (dllFile == null || !dllFile.isFile()) {
+            return DllAssemblyInfo.invalid("File not found");
+        }
+        if (context != null) {
+            attach(context);
+        }
+
+        String path = dllFile.getAbsolutePath();
+        long size = dllFile.length();
+        long lastModified = dllFile.lastModified();
+
+        IndexEntry entry = pathIndex.get(path);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            DllAssemblyInfo cached = infoByHash.get(entry.hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        String hash;
+        try {
+            hash = IoUtils.sha256Hex(dllFile);
+        } catch (Exception e) {
+            LogUtils.logDebug("Failed to hash DLL " + dllFile.getName() + ": " + e.getMessage());
+            return DllAssemblyInfo.read(dllFile);
+        }
+
+        DllAssemblyInfo info = infoByHash.get(hash);
+        if (info == null) {
+            info = DllAssemblyInfo.read(dllFile);
+            infoByHash.put(hash, info);
+            LogUtils.logDebug("Parsed DLL metadata: " + dllFile.getName() + " - " + info);
+        }
+        pathIndex.put(path, new IndexEntry(size, lastModified, hash));
+        dirty = true;
+        return info;
+    }
+
+    public synchronized void clear() {
+        pathIndex.clear();
+        infoByHash.clear();
+        dirty = true;
+        flush();
+    }
+
+    public synchronized int size() {
+        return infoByHash.size();
+    }
+
+    // === PERSISTENCE ===
+
+    private void attach(Context context) {
+        if (cacheFile != null) {
+            return;
+        }
+        File cacheDir = context.getCacheDir();
+        if (cacheDir == null) {
+            return;
+        }
+        cacheFile = new File(cacheDir, CACHE_FILE);
+        load();
+    }
+
+    private void load() {
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return;
+        }
+        try {
+            byte[] data;
+            try (RandomAccessFile in = new RandomAccessFile(cacheFile, "r")) {
+                data = new byte[(int) in.length()];
+                in.readFully(data);
+            }
+            JSONObject root = new JSONObject(new String(data, StandardCharsets.UTF_8));
+            if (root.optInt("version", 0) != CACHE_VERSION) {
+                return;
+            }
+
+            JSONObject infos = root.getJSONObject("assemblies");
+            Iterator<String> hashes = infos.keys();
+            while (hashes.hasNext()) {
+                String hash = hashes.next();
+                infoByHash.put(hash, DllAssemblyInfo.fromJson(infos.getJSONObject(hash)));
+            }
+
+            JSONObject index = root.getJSONObject("index");
+            Iterator<String> paths = index.keys();
+            while (paths.hasNext()) {
+                String path = paths.next();
+                JSONObject entry = index.getJSONObject(path);
+                pathIndex.put(path, new IndexEntry(entry.getLong("size"), entry.getLong("lastModified"),
+                                                   entry.getString("hash")));
+            }
+            LogUtils.logDebug("Loaded DLL metadata cache: " + infoByHash.size() + " assemblies");
+        } catch (Exception e) {
+            LogUtils.logDebug("Discarding unreadable DLL metadata cache: " + e.getMessage());
+            pathIndex.clear();
+            infoByHash.clear();
+        }
+    }
+
+    // Writes the cache file if lookups changed it since the last write
+    public synchronized void flush() {
+        if (cacheFile == null || !dirty) {
+            return;
+        }
+        try {
+            JSONObject infos = new JSONObject();
+            for (Map.Entry<String, DllAssemblyInfo> info : infoByHash.entrySet()) {
+                infos.put(info.getKey(), info.getValue().toJson());
+            }
+            JSONObject index = new JSONObject();
+            for (Map.Entry<String, IndexEntry> entry : pathIndex.entrySet()) {
+                JSONObject json = new JSONObject();
+                json.put("size", entry.getValue().size);
+                json.put("lastModified", entry.getValue().lastModified);
+                json.put("hash", entry.getValue().hash);
+                index.put(entry.getKey(), json);
+            }
+
+            JSONObject root = new JSONObject();
+            root.put("version", CACHE_VERSION);
+            root.put("assemblies", infos);
+            root.put("index", index);
+
+            File temp = new File(cacheFile.getParentFile(), CACHE_FILE + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                out.write(root.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            if (!temp.renameTo(cacheFile)) {
+                temp.delete();
+                return;
+            }
+            dirty = false;
+        } catch (Exception e) {
+            LogUtils.logDebug("Failed to save DLL metadata cache: " + e.getMessage());
+        }
+    }
+}
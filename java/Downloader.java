@@ -3,6 +3,7 @@
 
 package com.terrarialoader.util;
 
+import com.terrarialoader.util.IoUtils;
 import com.terrarialoader.util.LogUtils;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -47,13 +48,7 @@ public class Downloader {
             try (InputStream input = connection.getInputStream();
                  FileOutputStream output = new FileOutputStream(zipFile)) {
 
-                byte[] data = new byte[4096];
-                int count;
-                long total = 0;
-                while ((count = input.read(data)) != -1) {
-                    total += count;
-                    output.write(data, 0, count);
-                }
+                long total = IoUtils.copyStream(input, output, connection.getContentLength(), null);
                 LogUtils.logUser("✅ Download complete. Total size: " + FileUtils.formatFileSize(total));
             }
 
@@ -91,11 +86,7 @@ public class Downloader {
                     newFile.getParentFile().mkdirs();
                     
                     try (FileOutputStream fos = new FileOutputStream(newFile)) {
-                        int len;
-                        byte[] buffer = new byte[4096];
-                        while ((len = zis.read(buffer)) > 0) {
-                            fos.write(buffer, 0, len);
-                        }
+                        IoUtils.copyStream(zis, fos, zipEntry.getSize(), null);
                     }
                     
                     extractedCount++;
@@ -35,23 +35,8 @@ public class FileUtils {
     public static boolean copyUriToFile(Context context, Uri sourceUri, File destFile) {
         LogUtils.logDebug("Copying file from URI to: " + destFile.getAbsolutePath());
         
-        try (InputStream in = context.getContentResolver().openInputStream(sourceUri);
-             OutputStream out = new FileOutputStream(destFile)) {
-            
-            if (in == null) {
-                LogUtils.logDebug("Failed to open input stream from URI");
-                return false;
-            }
-            
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            long totalBytes = 0;
-            
-            while ((bytesRead = in.read(buffer)) != -1) {
-                out.write(buffer, 0, bytesRead);
-                totalBytes += bytesRead;
-            }
-            
+        try {
+            long totalBytes = IoUtils.copyUri(context, sourceUri, destFile, null);
             LogUtils.logDebug("File copy completed: " + totalBytes + " bytes copied");
             return true;
             
@@ -68,6 +53,100 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Inspects bytes while copyUriToFileVerified streams them, so validation needs no second read.
+     */
+    public interface StreamInspector {
+        // Called for every chunk written; return false to abort the copy
+        boolean update(byte[] data, int offset, int length);
+
+        // Called on the fully written temp file before it is renamed; return null if valid
+        String verify(File tempFile, long size);
+    }
+
+    public static class CopyResult {
+        private final boolean success;
+        private final String error;
+        private final long size;
+        private final String sha256;
+
+        private CopyResult(boolean success, String error, long size, String sha256) {
+            this.success = success;
+            this.error = error;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public boolean isSuccess() { return success; }
+        public String getError() { return error; }
+        public long getSize() { return size; }
+        public String getSha256() { return sha256; }
+    }
+
+    /**
+     * Single pass install copy: the URI is read once into a temp file next to destFile while
+     * size, SHA-256 and the inspector run on the same buffer. The copy aborts as soon as
+     * maxBytes is exceeded; destFile is only replaced (atomic rename) once everything passed.
+     */
+    public static CopyResult copyUriToFileVerified(Context context, Uri sourceUri, File destFile,
+                                                   long maxBytes, StreamInspector inspector) {
+        File tempFile = new File(destFile.getParentFile(), destFile.getName() + ".tmp");
+        long totalBytes = 0;
+        String error = null;
+        String sha256 = null;
+
+        try (InputStream in = context.getContentResolver().openInputStream(sourceUri)) {
+            if (in == null) {
+                return new CopyResult(false, "cannot open source", 0, null);
+            }
+            java.security.MessageDigest digest = IoUtils.newSha256();
+
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                byte[] buffer = IoUtils.heapBuffer();
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
+                    totalBytes += bytesRead;
+                    if (maxBytes > 0 && totalBytes > maxBytes) {
+                        error = "file exceeds " + formatFileSize(maxBytes);
+                        break;
+                    }
+                    if (inspector != null && !inspector.update(buffer, 0, bytesRead)) {
+                        error = "content rejected";
+                        break;
+                    }
+                    digest.update(buffer, 0, bytesRead);
+                    out.write(buffer, 0, bytesRead);
+                }
+            }
+
+            if (error == null && totalBytes == 0) {
+                error = "file is empty";
+            }
+            if (error == null && inspector != null) {
+                error = inspector.verify(tempFile, totalBytes);
+            }
+            if (error == null) {
+                sha256 = IoUtils.toHex(digest.digest());
+                if (!tempFile.renameTo(destFile)) {
+                    error = "cannot move temp file into place";
+                }
+            }
+
+        } catch (Exception e) {
+            Log.e(TAG, "Verified copy failed: " + e.getMessage(), e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        if (error != null) {
+            tempFile.delete();
+            LogUtils.logDebug("Verified copy failed for " + destFile.getName() + ": " + error);
+            return new CopyResult(false, error, totalBytes, null);
+        }
+
+        LogUtils.logDebug("Verified copy completed: " + totalBytes + " bytes, sha256 " + sha256);
+        return new CopyResult(true, null, totalBytes, sha256);
+    }
+
     // Enhanced method to get filename from URI
     public static String getFilenameFromUri(Context context, Uri uri) {
         String filename = null;
@@ -176,51 +255,13 @@ public class FileUtils {
         return names;
     }
 
-    // Enhanced directory operations
+    // Enhanced directory operations (single cached walk, see DirectoryStats)
     public static long getDirectorySize(File dir) {
-        long size = 0;
-        if (dir == null) {
-            return 0;
-        }
-        
-        if (dir.isDirectory()) {
-            File[] files = dir.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isDirectory()) {
-                        size += getDirectorySize(file);
-                    } else {
-                        size += file.length();
-                    }
-                }
-            }
-        } else {
-            size = dir.length();
-        }
-        return size;
+        return DirectoryStats.of(dir).getTotalSize();
     }
 
     public static int getFileCount(File dir) {
-        if (dir == null) {
-            return 0;
-        }
-        
-        if (!dir.isDirectory()) {
-            return dir.exists() ? 1 : 0;
-        }
-        
-        int count = 0;
-        File[] files = dir.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    count += getFileCount(file);
-                } else {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return DirectoryStats.of(dir).getFileCount();
     }
 
     // File validation utilities
@@ -282,7 +323,7 @@ public class FileUtils {
         }
     }
 
-    // Create backup of file
+    // Create backup of file (content-addressed: identical content is stored once)
     public static File createBackup(File originalFile) {
         if (originalFile == null || !originalFile.exists()) {
             return null;
@@ -291,26 +332,11 @@ public class FileUtils {
         String backupName = originalFile.getName() + ".backup." + System.currentTimeMillis();
         File backupFile = new File(originalFile.getParentFile(), backupName);
         
-        try (FileInputStream in = new FileInputStream(originalFile);
-             FileOutputStream out = new FileOutputStream(backupFile)) {
-            
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            
-            while ((bytesRead = in.read(buffer)) != -1) {
-                out.write(buffer, 0, bytesRead);
-            }
-            
-            LogUtils.logDebug("Created backup: " + backupName);
-            return backupFile;
-            
-        } catch (Exception e) {
-            LogUtils.logDebug("Failed to create backup: " + e.getMessage());
-            if (backupFile.exists()) {
-                backupFile.delete();
-            }
-            return null;
+        File backup = ContentStore.forDirectory(originalFile.getParentFile()).createBackup(originalFile, backupFile, null);
+        if (backup != null) {
+            LogUtils.logDebug("Created backup: " + backup.getName());
         }
+        return backup;
     }
 
     // Format file size for display
@@ -0,0 +1,207 @@
+// File: IoUtils.java (Utility Class) - Shared zero-copy file and stream copy primitives
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/util/IoUtils.java
+
+package com.terrarialoader.util;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * One copy layer for the whole app:
+ * - file -> file and seekable content URI -> file go through FileChannel.transferTo,
+ *   which lets the kernel move the data without a Java heap round trip
+ * - pipe descriptors use a per-thread 256 KB direct buffer between the two channels
+ * - plain streams (zip entries, network) use a per-thread 256 KB heap buffer
+ * All copies report progress in bytes; total is -1 when the source size is unknown.
+ * The SHA-256 helpers used for content hashes live here too, so every hash is read the same way.
+ */
+public class IoUtils {
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024; // Progress granularity for transferTo
+
+    // Subclassed rather than ThreadLocal.withInitial, which needs API 26
+    private static final ThreadLocal<ByteBuffer> DIRECT_BUFFER = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+    };
+    private static final ThreadLocal<byte[]> HEAP_BUFFER = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[BUFFER_SIZE];
+        }
+    };
+
+    public interface ProgressListener {
+        void onProgress(long bytesCopied, long totalBytes);
+    }
+
+    // Reusable per-thread buffer for callers that must see the bytes (hashing, inspection)
+    public static byte[] heapBuffer() {
+        return HEAP_BUFFER.get();
+    }
+
+    // === FILE -> FILE ===
+
+    public static long copy(File source, File target, ProgressListener listener) throws IOException {
+        try (FileChannel in = new FileInputStream(source).getChannel();
+             FileChannel out = new FileOutputStream(target).getChannel()) {
+            return transfer(in, out, in.size(), listener);
+        }
+    }
+
+    // Boolean convenience for the many call sites that only log failures
+    public static boolean copyFile(File source, File target) {
+        try {
+            copy(source, target, null);
+            return true;
+        } catch (Exception e) {
+            LogUtils.logDebug("File copy failed: " + source.getName() + " -> " + target.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // === CONTENT URI -> FILE ===
+
+    /**
+     * Copies a content URI. Seekable descriptors (regular files behind the provider) are
+     * transferred channel to channel; pipes and streamed providers fall back to the buffer path.
+     */
+    public static long copyUri(Context context, Uri uri, File target, ProgressListener listener) throws IOException {
+        ParcelFileDescriptor descriptor = null;
+        try {
+            descriptor = context.getContentResolver().openFileDescriptor(uri, "r");
+        } catch (Exception e) {
+            // Provider only supports streams
+        }
+
+        if (descriptor != null) {
+            long size = descriptor.getStatSize();
+            try (FileChannel in = new ParcelFileDescriptor.AutoCloseInputStream(descriptor).getChannel();
+                 FileChannel out = new FileOutputStream(target).getChannel()) {
+                if (size > 0) {
+                    return transfer(in, out, size, listener);
+                }
+                return copyChannel(in, out, -1, listener); // Pipe: size unknown, transferTo unreliable
+            }
+        }
+
+        try (InputStream in = context.getContentResolver().openInputStream(uri);
+             OutputStream out = new FileOutputStream(target)) {
+            if (in == null) {
+                throw new IOException("Cannot open " + uri);
+            }
+            return copyStream(in, out, -1, listener);
+        }
+    }
+
+    // === STREAMS ===
+
+    public static long copyStream(InputStream in, OutputStream out, long totalBytes, ProgressListener listener) throws IOException {
+        if (in instanceof FileInputStream && out instanceof FileOutputStream) {
+            FileChannel source = ((FileInputStream) in).getChannel();
+            return transfer(source, ((FileOutputStream) out).getChannel(),
+                            totalBytes >= 0 ? totalBytes : source.size() - source.position(), listener);
+        }
+        // Channels.newChannel() would re-chunk through its own 8 KB array, so plain streams
+        // (zip entries, network) go through the per-thread heap buffer instead
+        byte[] buffer = HEAP_BUFFER.get();
+        long copied = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            copied += read;
+            if (listener != null) {
+                listener.onProgress(copied, totalBytes);
+            }
+        }
+        out.flush();
+        return copied;
+    }
+
+    private static long copyChannel(ReadableByteChannel in, WritableByteChannel out, long totalBytes,
+                                    ProgressListener listener) throws IOException {
+        ByteBuffer buffer = DIRECT_BUFFER.get();
+        buffer.clear();
+        long copied = 0;
+        while (in.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                copied += out.write(buffer);
+            }
+            buffer.clear();
+            if (listener != null) {
+                listener.onProgress(copied, totalBytes);
+            }
+        }
+        return copied;
+    }
+
+    private static long transfer(FileChannel in, FileChannel out, long size, ProgressListener listener) throws IOException {
+        long start = in.position();
+        long position = 0;
+        while (position < size) {
+            long transferred = in.transferTo(start + position, Math.min(TRANSFER_CHUNK, size - position), out);
+            if (transferred <= 0) {
+                throw new IOException("transferTo made no progress at " + position + "/" + size);
+            }
+            position += transferred;
+            if (listener != null) {
+                listener.onProgress(position, size);
+            }
+        }
+        in.position(start + position);
+        return position;
+    }
+
+    // === HASHING ===
+
+    public static MessageDigest newSha256() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 not available", e);
+        }
+    }
+
+    // Reads the file through the per-thread direct buffer
+    public static byte[] sha256(File file) throws IOException {
+        MessageDigest digest = newSha256();
+        try (FileChannel channel = new FileInputStream(file).getChannel()) {
+            ByteBuffer buffer = DIRECT_BUFFER.get();
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    public static String sha256Hex(File file) throws IOException {
+        return toHex(sha256(file));
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -4,14 +4,27 @@
 package com.terrarialoader.loader;
 
 import android.content.Context;
+import android.os.Build;
+import com.terrarialoader.ui.SettingsActivity;
+import com.terrarialoader.util.ContentStore;
+import com.terrarialoader.util.DirectoryStats;
 import com.terrarialoader.util.LogUtils;
 import com.terrarialoader.util.FileUtils;
+import com.terrarialoader.util.IoUtils;
 import com.terrarialoader.util.PathManager;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 public class LoaderFileManager {
     
@@ -28,7 +41,7 @@ public class LoaderFileManager {
             
             File targetFile = new File(dllModsDir, dllFile.getName());
             
-            if (copyFile(dllFile, targetFile)) {
+            if (IoUtils.copyFile(dllFile, targetFile)) {
                 LogUtils.logUser("✅ DLL mod installed: " + dllFile.getName());
                 LogUtils.logUser("📁 Location: " + targetFile.getAbsolutePath());
                 return true;
@@ -241,7 +254,7 @@ public class LoaderFileManager {
         return info.toString();
     }
 
-    // Backup existing mods before operations
+    // Backup existing mods before operations (incremental snapshot, see SnapshotWriter)
     public boolean backupMods(Context context, String gamePackage) {
         try {
             File modsDir = PathManager.getGameBaseDir(context, gamePackage);
@@ -250,10 +263,26 @@ public class LoaderFileManager {
                 return true;
             }
             
-            File backupDir = new File(PathManager.getBackupsDir(context, gamePackage), "mods_" + System.currentTimeMillis());
-            PathManager.ensureDirectoryExists(backupDir.getParentFile());
+            File backupsRoot = PathManager.getBackupsDir(context, gamePackage);
+            PathManager.ensureDirectoryExists(backupsRoot);
+            String snapshotName = SNAPSHOT_PREFIX + System.currentTimeMillis();
             
-            return copyDirectory(modsDir, backupDir);
+            if (SettingsActivity.isCompressedBackupsEnabled(context)) {
+                return writeArchive(modsDir, backupsRoot, new File(backupsRoot, snapshotName + ARCHIVE_SUFFIX));
+            }
+            
+            File previous = null;
+            for (File snapshot : listSnapshots(backupsRoot)) {
+                if (snapshot.isDirectory()) {
+                    previous = snapshot; // Latest directory snapshot - archives cannot be linked from
+                }
+            }
+            File backupDir = new File(backupsRoot, snapshotName);
+            
+            SnapshotWriter writer = new SnapshotWriter(modsDir, backupsRoot, previous, backupDir);
+            boolean success = writer.write();
+            LogUtils.logDebug("Snapshot " + backupDir.getName() + ": " + writer.getSummary());
+            return success;
             
         } catch (Exception e) {
             LogUtils.logDebug("Mod backup failed: " + e.getMessage());
@@ -261,89 +290,329 @@ public class LoaderFileManager {
         }
     }
 
-    // Helper method to copy directory
-    private boolean copyDirectory(File source, File target) {
+    private static final String SNAPSHOT_PREFIX = "mods_";
+    private static final String SNAPSHOT_MANIFEST = ".snapshot";
+    private static final String ARCHIVE_SUFFIX = ".zip";
+
+    // Snapshots (directories and archives) oldest first, ordered by the timestamp in their name
+    private File[] listSnapshots(File backupsRoot) {
+        File[] snapshots = backupsRoot.listFiles((dir, name) -> name.startsWith(SNAPSHOT_PREFIX) &&
+                (name.endsWith(ARCHIVE_SUFFIX) || new File(dir, name).isDirectory()));
+        if (snapshots == null) {
+            return new File[0];
+        }
+        java.util.Arrays.sort(snapshots, (a, b) -> Long.compare(snapshotTime(a), snapshotTime(b)));
+        return snapshots;
+    }
+
+    private static long snapshotTime(File snapshot) {
+        String name = snapshot.getName();
+        if (name.endsWith(ARCHIVE_SUFFIX)) {
+            name = name.substring(0, name.length() - ARCHIVE_SUFFIX.length());
+        }
         try {
-            if (source.isDirectory()) {
-                if (!target.exists()) {
-                    target.mkdirs();
+            return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return snapshot.lastModified();
+        }
+    }
+
+    public List<String> listBackups(Context context, String gamePackage) {
+        List<String> names = new ArrayList<>();
+        for (File snapshot : listSnapshots(PathManager.getBackupsDir(context, gamePackage))) {
+            names.add(snapshot.getName());
+        }
+        return names;
+    }
+
+    private interface SnapshotVisitor {
+        boolean visit(File file, String relative);
+    }
+
+    // Every file a snapshot should contain; the Backups directory, content stores and temp files are skipped
+    private static boolean forEachSnapshotFile(File dir, String relativeDir, File backupsRoot, SnapshotVisitor visitor) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return true;
+        }
+        boolean success = true;
+        for (File file : files) {
+            String relative = relativeDir.isEmpty() ? file.getName() : relativeDir + "/" + file.getName();
+            if (file.isDirectory()) {
+                if (file.equals(backupsRoot) || ContentStore.STORE_DIR_NAME.equals(file.getName())) {
+                    continue; // Never back up backups
                 }
-                
-                File[] files = source.listFiles();
-                if (files != null) {
-                    for (File file : files) {
-                        File targetFile = new File(target, file.getName());
-                        if (!copyDirectory(file, targetFile)) {
-                            return false;
-                        }
+                success &= forEachSnapshotFile(file, relative, backupsRoot, visitor);
+            } else if (!file.getName().endsWith(".tmp")) {
+                success &= visitor.visit(file, relative);
+            }
+        }
+        return success;
+    }
+
+    // === COMPRESSED ARCHIVE BACKUPS ===
+
+    /**
+     * Streams the game base directory into a single zip. Each entry is compressed on its own and
+     * the central directory at the end acts as a seekable index, so ZipFile can restore one file
+     * without inflating anything else. Already-compressed formats are deflated at the fastest level.
+     * The archive is only published if every file was added; otherwise the temp file is deleted.
+     */
+    private boolean writeArchive(File sourceRoot, File backupsRoot, File archive) throws java.io.IOException {
+        File temp = new File(archive.getParentFile(), archive.getName() + ".tmp");
+        final long[] totals = new long[2]; // files, uncompressed bytes
+        boolean success = false;
+
+        try {
+            try (ZipOutputStream zip = new ZipOutputStream(new java.io.BufferedOutputStream(new FileOutputStream(temp), 64 * 1024))) {
+                success = forEachSnapshotFile(sourceRoot, "", backupsRoot, (file, relative) -> {
+                    try (FileInputStream in = new FileInputStream(file)) {
+                        String lower = relative.toLowerCase();
+                        boolean compressed = lower.endsWith(".zip") || lower.endsWith(".jar") || lower.endsWith(".apk") ||
+                                             lower.endsWith(".png") || lower.endsWith(".gz");
+                        zip.setLevel(compressed ? Deflater.BEST_SPEED : Deflater.DEFAULT_COMPRESSION);
+
+                        ZipEntry entry = new ZipEntry(relative);
+                        entry.setTime(file.lastModified());
+                        zip.putNextEntry(entry);
+                        IoUtils.copyStream(in, zip, file.length(), null);
+                        zip.closeEntry();
+                        totals[0]++;
+                        totals[1] += file.length();
+                        return true;
+                    } catch (Exception e) {
+                        LogUtils.logDebug("Archive: failed to add " + relative + ": " + e.getMessage());
+                        return false;
+                    }
+                });
+            }
+
+            if (!success) {
+                // A failed file may have left a truncated entry that a restore would take as good
+                LogUtils.logDebug("Archive " + archive.getName() + " is incomplete - discarded");
+                return false;
+            }
+            if (!temp.renameTo(archive)) {
+                throw new java.io.IOException("Cannot move archive into place: " + archive.getName());
+            }
+        } finally {
+            temp.delete(); // No-op once published
+        }
+        LogUtils.logDebug("Archive " + archive.getName() + ": " + totals[0] + " files, " +
+                          FileUtils.formatFileSize(totals[1]) + " -> " + FileUtils.formatFileSize(archive.length()));
+        return true;
+    }
+
+    public List<String> listBackupEntries(Context context, String gamePackage, String snapshotName) {
+        List<String> entries = new ArrayList<>();
+        File snapshot = new File(PathManager.getBackupsDir(context, gamePackage), snapshotName);
+        if (snapshot.isFile()) {
+            try (ZipFile zip = new ZipFile(snapshot)) {
+                Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+                while (zipEntries.hasMoreElements()) {
+                    ZipEntry entry = zipEntries.nextElement();
+                    if (!entry.isDirectory()) {
+                        entries.add(entry.getName());
                     }
                 }
-            } else {
-                return copyFile(source, target);
+            } catch (Exception e) {
+                LogUtils.logDebug("Cannot read backup archive " + snapshotName + ": " + e.getMessage());
             }
-            return true;
-        } catch (Exception e) {
-            LogUtils.logDebug("Directory copy failed: " + e.getMessage());
-            return false;
+        } else if (snapshot.isDirectory()) {
+            forEachSnapshotFile(snapshot, "", null, (file, relative) -> {
+                if (!relative.equals(SNAPSHOT_MANIFEST)) {
+                    entries.add(relative.endsWith(ContentStore.REF_SUFFIX)
+                            ? relative.substring(0, relative.length() - ContentStore.REF_SUFFIX.length()) : relative);
+                }
+                return true;
+            });
         }
+        return entries;
     }
 
-    // Helper method to copy files
-    private boolean copyFile(File source, File target) {
-        try (FileInputStream in = new FileInputStream(source);
-             FileOutputStream out = new FileOutputStream(target)) {
-            
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                out.write(buffer, 0, bytesRead);
+    /**
+     * Restores one file (path relative to the game base directory) from a snapshot directory or
+     * archive. Archives are read through their central directory, so only that entry is inflated.
+     */
+    public boolean restoreFromBackup(Context context, String gamePackage, String snapshotName, String relativePath) {
+        File backupsRoot = PathManager.getBackupsDir(context, gamePackage);
+        File snapshot = new File(backupsRoot, snapshotName);
+        File target = new File(PathManager.getGameBaseDir(context, gamePackage), relativePath);
+        File parent = target.getParentFile();
+        if (parent != null && !PathManager.ensureDirectoryExists(parent)) {
+            return false;
+        }
+
+        try {
+            if (snapshot.isFile()) {
+                try (ZipFile zip = new ZipFile(snapshot)) {
+                    ZipEntry entry = zip.getEntry(relativePath);
+                    if (entry == null) {
+                        LogUtils.logUser("❌ " + relativePath + " is not in backup " + snapshotName);
+                        return false;
+                    }
+                    File temp = new File(parent, target.getName() + ".tmp");
+                    try (java.io.InputStream in = zip.getInputStream(entry);
+                         FileOutputStream out = new FileOutputStream(temp)) {
+                        IoUtils.copyStream(in, out, entry.getSize(), null);
+                    }
+                    temp.setLastModified(entry.getTime());
+                    if (!temp.renameTo(target)) {
+                        temp.delete();
+                        return false;
+                    }
+                }
+            } else {
+                File backup = new File(snapshot, relativePath);
+                if (!backup.isFile()) {
+                    backup = new File(snapshot, relativePath + ContentStore.REF_SUFFIX);
+                }
+                if (!backup.isFile() || !ContentStore.forDirectory(backupsRoot).restore(backup, target)) {
+                    LogUtils.logUser("❌ " + relativePath + " is not in backup " + snapshotName);
+                    return false;
+                }
             }
+            LogUtils.logUser("♻️ Restored " + relativePath + " from " + snapshotName);
             return true;
-            
         } catch (Exception e) {
-            LogUtils.logDebug("File copy failed: " + e.getMessage());
+            LogUtils.logDebug("Restore failed: " + e.getMessage());
             return false;
         }
     }
 
-    // Calculate directory size
-    private long calculateDirectorySize(File dir) {
-        long size = 0;
-        if (dir != null && dir.isDirectory()) {
-            File[] files = dir.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isDirectory()) {
-                        size += calculateDirectorySize(file);
-                    } else {
-                        size += file.length();
-                    }
+    /**
+     * Writes one incremental snapshot of the game base directory.
+     *
+     * A manifest (relative path, size, mtime) is kept per snapshot. Files whose size and
+     * mtime match the previous snapshot are hard-linked from it; only new or changed files
+     * are copied. Where the filesystem refuses hard links, unchanged files are kept in the
+     * backups content store and referenced (ContentStore .ref files), so repeated snapshots
+     * still share storage. The Backups directory itself and content stores are skipped.
+     */
+    private static class SnapshotWriter {
+        private final File sourceRoot;
+        private final File backupsRoot;
+        private final File previous;
+        private final File target;
+        private final Map<String, long[]> previousManifest;
+        private final ContentStore store;
+        private final StringBuilder manifest = new StringBuilder();
+        private int linked;
+        private int referenced;
+        private int copied;
+        private long copiedBytes;
+
+        SnapshotWriter(File sourceRoot, File backupsRoot, File previous, File target) {
+            this.sourceRoot = sourceRoot;
+            this.backupsRoot = backupsRoot;
+            this.previous = previous;
+            this.target = target;
+            this.previousManifest = readManifest(previous);
+            this.store = ContentStore.forDirectory(backupsRoot);
+        }
+
+        boolean write() throws java.io.IOException {
+            if (!target.mkdirs()) {
+                throw new java.io.IOException("Cannot create snapshot directory: " + target.getName());
+            }
+            boolean success = forEachSnapshotFile(sourceRoot, "", backupsRoot, this::backupFile);
+            try (FileOutputStream out = new FileOutputStream(new File(target, SNAPSHOT_MANIFEST))) {
+                out.write(manifest.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            }
+            return success;
+        }
+
+        private boolean backupFile(File file, String relative) {
+            long size = file.length();
+            long mtime = file.lastModified();
+            File out = new File(target, relative);
+            File parent = out.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                LogUtils.logDebug("Snapshot: cannot create " + parent.getAbsolutePath());
+                return false;
+            }
+
+            try {
+                long[] before = previousManifest.get(relative);
+                if (before != null && before[0] == size && before[1] == mtime && reuseFromPrevious(relative, out)) {
+                    manifest.append(relative).append('\t').append(size).append('\t').append(mtime).append('\n');
+                    return true;
+                }
+
+                IoUtils.copy(file, out, null);
+                out.setLastModified(mtime);
+                copied++;
+                copiedBytes += size;
+                manifest.append(relative).append('\t').append(size).append('\t').append(mtime).append('\n');
+                return true;
+            } catch (Exception e) {
+                LogUtils.logDebug("Snapshot: failed to back up " + relative + ": " + e.getMessage());
+                return false;
+            }
+        }
+
+        // Unchanged file: link (or reference) the previous snapshot's copy instead of copying
+        private boolean reuseFromPrevious(String relative, File out) throws java.io.IOException {
+            File previousFile = new File(previous, relative);
+            File previousRef = new File(previous, relative + ContentStore.REF_SUFFIX);
+
+            if (previousRef.isFile()) {
+                String hash = ContentStore.readReference(previousRef);
+                if (hash == null || !store.contains(hash)) {
+                    return false;
                 }
+                store.createReference(hash, out);
+                referenced++;
+                return true;
             }
-        } else if (dir != null && dir.isFile()) {
-            size = dir.length();
+            if (!previousFile.isFile()) {
+                return false;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                try {
+                    Files.createLink(out.toPath(), previousFile.toPath());
+                    linked++;
+                    return true;
+                } catch (Exception e) {
+                    // Hard links unsupported - fall through to the content store
+                }
+            }
+            if (store.createBackup(previousFile, out, null) == null) {
+                return false;
+            }
+            referenced++;
+            return true;
         }
-        return size;
-    }
 
-    // Count files recursively
-    private int countFiles(File dir) {
-        int count = 0;
-        if (dir != null && dir.isDirectory()) {
-            File[] files = dir.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isDirectory()) {
-                        count += countFiles(file);
-                    } else {
-                        count++;
+        String getSummary() {
+            return copied + " copied (" + FileUtils.formatFileSize(copiedBytes) + "), " +
+                   linked + " hard-linked, " + referenced + " referenced";
+        }
+
+        private static Map<String, long[]> readManifest(File snapshot) {
+            Map<String, long[]> entries = new HashMap<>();
+            if (snapshot == null) {
+                return entries;
+            }
+            File manifestFile = new File(snapshot, SNAPSHOT_MANIFEST);
+            if (!manifestFile.isFile()) {
+                return entries; // Old full-copy backup: everything is copied once more
+            }
+            try (java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(
+                    new FileInputStream(manifestFile), java.nio.charset.StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.split("\t");
+                    if (parts.length == 3) {
+                        entries.put(parts[0], new long[]{Long.parseLong(parts[1]), Long.parseLong(parts[2])});
                     }
                 }
+            } catch (Exception e) {
+                LogUtils.logDebug("Ignoring unreadable snapshot manifest: " + e.getMessage());
+                entries.clear();
             }
-        } else if (dir != null && dir.isFile()) {
-            count = 1;
+            return entries;
         }
-        return count;
     }
 
     // Get file statistics for a game package
@@ -353,8 +622,11 @@ public class LoaderFileManager {
         
         File baseDir = PathManager.getGameBaseDir(context, gamePackage);
         if (baseDir != null && baseDir.exists()) {
-            stats.totalFiles = countFiles(baseDir);
-            stats.totalSize = calculateDirectorySize(baseDir);
+            DirectoryStats tree = DirectoryStats.of(baseDir); // One cached walk for size, count and types
+            stats.totalFiles = tree.getFileCount();
+            stats.totalSize = tree.getTotalSize();
+            stats.filesByType = tree.getCountsByType();
+            stats.sizeByType = tree.getSizesByType();
             
             // Count mods specifically
             File[] dllMods = getInstalledDllMods(context, gamePackage);
@@ -381,6 +653,8 @@ public class LoaderFileManager {
     }
 
     // Clean up old backup files
+    // Hard-linked content survives as long as a newer snapshot links it; store objects
+    // that no remaining snapshot references are removed afterwards
     public void cleanupOldBackups(Context context, String gamePackage, int maxBackups) {
         try {
             File backupDir = PathManager.getBackupsDir(context, gamePackage);
@@ -388,14 +662,11 @@ public class LoaderFileManager {
                 return;
             }
             
-            File[] backupFiles = backupDir.listFiles((dir, name) -> name.startsWith("mods_"));
-            if (backupFiles == null || backupFiles.length <= maxBackups) {
+            File[] backupFiles = listSnapshots(backupDir);
+            if (backupFiles.length <= maxBackups) {
                 return;
             }
             
-            // Sort by timestamp (oldest first)
-            java.util.Arrays.sort(backupFiles, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
-            
             // Delete oldest backups
             int toDelete = backupFiles.length - maxBackups;
             for (int i = 0; i < toDelete; i++) {
@@ -403,6 +674,8 @@ public class LoaderFileManager {
                 LogUtils.logDebug("Cleaned up old backup: " + backupFiles[i].getName());
             }
             
+            ContentStore.forDirectory(backupDir).prune(listSnapshots(backupDir));
+            
         } catch (Exception e) {
             LogUtils.logDebug("Backup cleanup failed: " + e.getMessage());
         }
@@ -440,6 +713,8 @@ public class LoaderFileManager {
         public int totalModCount = 0;
         public int enabledModCount = 0;
         public int disabledModCount = 0;
+        public Map<String, Integer> filesByType = new HashMap<>();
+        public Map<String, Long> sizeByType = new HashMap<>();
         
         @Override
         public String toString() {
@@ -462,6 +737,15 @@ public class LoaderFileManager {
             info.append("Total Mods: ").append(totalModCount).append("\n");
             info.append("Enabled Mods: ").append(enabledModCount).append("\n");
             info.append("Disabled Mods: ").append(disabledModCount).append("\n");
+            if (!filesByType.isEmpty()) {
+                info.append("By Type:\n");
+                for (Map.Entry<String, Integer> type : filesByType.entrySet()) {
+                    String name = type.getKey().isEmpty() ? "(none)" : "." + type.getKey();
+                    Long size = sizeByType.get(type.getKey());
+                    info.append("  ").append(name).append(": ").append(type.getValue()).append(" files, ")
+                        .append(FileUtils.formatFileSize(size != null ? size : 0)).append("\n");
+                }
+            }
             return info.toString();
         }
     }
@@ -6,6 +6,7 @@ package com.terrarialoader.loader;
 import android.content.Context;
 import com.terrarialoader.util.LogUtils;
 import com.terrarialoader.util.FileUtils;
+import com.terrarialoader.util.IoUtils;
 import com.terrarialoader.util.PathManager;
 import java.io.File;
 import java.io.FileInputStream;
@@ -180,11 +181,7 @@ public class LoaderInstaller {
                         outputFile.getParentFile().mkdirs();
                         
                         try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-                            byte[] buffer = new byte[8192];
-                            int bytesRead;
-                            while ((bytesRead = zis.read(buffer)) != -1) {
-                                fos.write(buffer, 0, bytesRead);
-                            }
+                            IoUtils.copyStream(zis, fos, entry.getSize(), null);
                         }
                         
                         installedCount++;
@@ -378,24 +375,6 @@ public class LoaderInstaller {
         }
     }
 
-    // Helper method to copy files
-    private boolean copyFile(File source, File target) {
-        try (java.io.FileInputStream in = new java.io.FileInputStream(source);
-             java.io.FileOutputStream out = new java.io.FileOutputStream(target)) {
-            
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                out.write(buffer, 0, bytesRead);
-            }
-            return true;
-            
-        } catch (Exception e) {
-            LogUtils.logDebug("File copy failed: " + e.getMessage());
-            return false;
-        }
-    }
-
     // Helper method to delete directory recursively
     private boolean deleteDirectory(File dir) {
         if (dir.isDirectory()) {
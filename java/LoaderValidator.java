@@ -138,18 +138,13 @@ public class LoaderValidator {
             return false;
         }
         
-        // Basic PE header validation
-        try (FileInputStream fis = new FileInputStream(dllFile)) {
-            byte[] header = new byte[2];
-            if (fis.read(header) == 2) {
-                // Check for PE signature (MZ)
-                return header[0] == 0x4D && header[1] == 0x5A;
-            }
-        } catch (Exception e) {
-            LogUtils.logDebug("DLL validation error: " + e.getMessage());
+        // PE/COFF + CLI header validation (cached by file hash)
+        DllAssemblyInfo info = DllMetadataCache.getInstance().getInfo(null, dllFile);
+        if (!info.isValid() || !info.isManaged()) {
+            LogUtils.logDebug("DLL validation failed for " + dllFile.getName() + ": " + info);
+            return false;
         }
-        
-        return false;
+        return true;
     }
 
     // Check loader type availability
@@ -19,9 +19,8 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.terrarialoader.R;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Advanced RecyclerView adapter for displaying categorized log entries
@@ -30,12 +29,22 @@ import java.util.regex.Pattern;
 public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.LogViewHolder> {
     
     private final Context context;
-    private List<LogEntry> logEntries = new ArrayList<>();
-    private String searchQuery = "";
+    private LogStore store = new LogStore();
+    private int[] ids = new int[0]; // Shown entry ids, ascending; only the first idCount are valid
+    private int idCount;
+    
+    // Live section above the loaded entries: tailed lines, newest first
+    private LogStore liveStore = new LogStore();
+    private LogStore.IdList liveIds = new LogStore.IdList();
+    private int liveCount;
+    private LogFilter filter = LogFilter.NONE;
     private boolean highlightMode = true;
     private LogEntry.LogLevel filterLevel = null;
     private LogEntry.LogType filterType = null;
     
+    // Above this many changed ranges a full rebind is cheaper than animating each one
+    private static final int MAX_DIFF_RANGES = 64;
+    
     // Interface for item interactions
     public interface LogItemClickListener {
         void onLogItemClick(LogEntry logEntry);
@@ -52,14 +61,125 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
         this.clickListener = listener;
     }
     
-    public void updateEntries(List<LogEntry> entries) {
-        this.logEntries = entries != null ? entries : new ArrayList<>();
-        notifyDataSetChanged();
+    /**
+     * Shows the given entry ids of store. Ids are ascending in both the old and the new list,
+     * so the change is found with one merge pass and dispatched as range inserts/removes.
+     * The list may still grow afterwards; only its current size is shown.
+     */
+    public void updateEntries(LogStore store, LogStore.IdList entryIds) {
+        int[] newIds = entryIds.array();
+        int newCount = entryIds.size();
+        if (store != this.store) {
+            this.store = store;
+            ids = newIds;
+            idCount = newCount;
+            notifyDataSetChanged();
+            return;
+        }
+        // Rows of this list start below the live section
+        int[] oldIds = ids;
+        int oldCount = idCount;
+        ids = newIds;
+        idCount = newCount;
+        if (newIds == oldIds && newCount >= oldCount) {
+            // Same list, grown at the end (a page was loaded)
+            if (newCount > oldCount) {
+                notifyItemRangeInserted(liveCount + oldCount, newCount - oldCount);
+            }
+            return;
+        }
+        if (countChangedRanges(oldIds, oldCount, newIds, newCount) > MAX_DIFF_RANGES) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        int oldIndex = 0;
+        int newIndex = 0;
+        int position = liveCount;
+        while (oldIndex < oldCount || newIndex < newCount) {
+            if (newIndex >= newCount || (oldIndex < oldCount && oldIds[oldIndex] < newIds[newIndex])) {
+                int start = oldIndex;
+                while (oldIndex < oldCount && (newIndex >= newCount || oldIds[oldIndex] < newIds[newIndex])) {
+                    oldIndex++;
+                }
+                notifyItemRangeRemoved(position, oldIndex - start);
+            } else if (oldIndex >= oldCount || newIds[newIndex] < oldIds[oldIndex]) {
+                int start = newIndex;
+                while (newIndex < newCount && (oldIndex >= oldCount || newIds[newIndex] < oldIds[oldIndex])) {
+                    newIndex++;
+                }
+                notifyItemRangeInserted(position, newIndex - start);
+                position += newIndex - start;
+            } else {
+                oldIndex++;
+                newIndex++;
+                position++;
+            }
+        }
     }
     
-    public void setSearchQuery(String query) {
-        this.searchQuery = query != null ? query : "";
-        notifyDataSetChanged();
+    private static int countChangedRanges(int[] oldIds, int oldCount, int[] newIds, int newCount) {
+        int ranges = 0;
+        int oldIndex = 0;
+        int newIndex = 0;
+        int last = 0; // 0 = kept, 1 = removed, 2 = inserted
+        while (oldIndex < oldCount || newIndex < newCount) {
+            int step;
+            if (newIndex >= newCount || (oldIndex < oldCount && oldIds[oldIndex] < newIds[newIndex])) {
+                step = 1;
+                oldIndex++;
+            } else if (oldIndex >= oldCount || newIds[newIndex] < oldIds[oldIndex]) {
+                step = 2;
+                newIndex++;
+            } else {
+                step = 0;
+                oldIndex++;
+                newIndex++;
+            }
+            if (step != 0 && step != last) {
+                ranges++;
+            }
+            last = step;
+        }
+        return ranges;
+    }
+    
+    /**
+     * Shows tailed entries above the loaded ones, newest first. Growing the same list
+     * inserts rows at the top; any other change rebinds everything.
+     */
+    public void updateLiveEntries(LogStore liveStore, LogStore.IdList entryIds) {
+        int oldCount = liveCount;
+        boolean grown = liveStore == this.liveStore && entryIds == liveIds && entryIds.size() >= oldCount;
+        this.liveStore = liveStore;
+        liveIds = entryIds;
+        liveCount = entryIds.size();
+        if (!grown) {
+            notifyDataSetChanged();
+        } else if (liveCount > oldCount) {
+            notifyItemRangeInserted(0, liveCount - oldCount);
+        }
+    }
+    
+    private LogEntry getEntry(int position) {
+        if (position < liveCount) {
+            return liveStore.get(liveIds.get(liveCount - 1 - position));
+        }
+        return store.get(ids[position - liveCount]);
+    }
+    
+    // Level only, without materializing the entry
+    private LogEntry.LogLevel getLevel(int position) {
+        if (position < liveCount) {
+            return liveStore.getLevel(liveIds.get(liveCount - 1 - position));
+        }
+        return store.getLevel(ids[position - liveCount]);
+    }
+    
+    // Compiled search query used for highlighting and getFilteredEntries()
+    public void setFilter(LogFilter filter) {
+        this.filter = filter != null ? filter : LogFilter.NONE;
+        notifyItemRangeChanged(0, getItemCount()); // Re-highlight rows the diff keeps
     }
     
     public void setHighlightMode(boolean enabled) {
@@ -86,13 +206,13 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
     
     @Override
     public void onBindViewHolder(@NonNull LogViewHolder holder, int position) {
-        LogEntry entry = logEntries.get(position);
+        LogEntry entry = getEntry(position);
         holder.bind(entry);
     }
     
     @Override
     public int getItemCount() {
-        return logEntries.size();
+        return liveCount + idCount;
     }
     
     public class LogViewHolder extends RecyclerView.ViewHolder {
@@ -102,6 +222,7 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
         private final TextView messageText;
         private final View levelIndicator;
         private final View rootView;
+        private final char[] timestampChars = new char[LogTimeFormatter.TIME_LENGTH]; // Reused across binds
         
         public LogViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -117,7 +238,7 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
                 if (clickListener != null) {
                     int pos = getAdapterPosition();
                     if (pos != RecyclerView.NO_POSITION) {
-                        clickListener.onLogItemClick(logEntries.get(pos));
+                        clickListener.onLogItemClick(getEntry(pos));
                     }
                 }
             });
@@ -126,7 +247,7 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
                 if (clickListener != null) {
                     int pos = getAdapterPosition();
                     if (pos != RecyclerView.NO_POSITION) {
-                        clickListener.onLogItemLongClick(logEntries.get(pos));
+                        clickListener.onLogItemLongClick(getEntry(pos));
                         return true;
                     }
                 }
@@ -136,7 +257,8 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
         
         public void bind(LogEntry entry) {
             // Set timestamp
-            timestampText.setText(entry.getFormattedTimestamp());
+            int length = LogTimeFormatter.formatTime(entry.getTimestamp(), timestampChars, 0);
+            timestampText.setText(timestampChars, 0, length);
             
             // Set level with color
             levelText.setText(entry.getLevel().getDisplayName());
@@ -146,8 +268,8 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
             tagText.setText(entry.getTag());
             
             // Set message with highlighting
-            if (highlightMode && !searchQuery.trim().isEmpty()) {
-                messageText.setText(highlightText(entry.getMessage(), searchQuery));
+            if (highlightMode && filter.hasQuery()) {
+                messageText.setText(highlightText(entry.getMessage()));
             } else {
                 messageText.setText(entry.getMessage());
             }
@@ -165,73 +287,25 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
             addTypeBadge(entry);
         }
         
-        private SpannableString highlightText(String text, String query) {
+        private SpannableString highlightText(String text) {
             SpannableString spannableString = new SpannableString(text);
-            
-            if (query.trim().isEmpty()) {
-                return spannableString;
-            }
-            
-            try {
-                // Try regex highlighting first
-                if (isValidRegex(query)) {
-                    Pattern pattern = Pattern.compile(query, Pattern.CASE_INSENSITIVE);
-                    Matcher matcher = pattern.matcher(text);
-                    
-                    while (matcher.find()) {
-                        spannableString.setSpan(
-                            new BackgroundColorSpan(Color.YELLOW),
-                            matcher.start(),
-                            matcher.end(),
-                            Spanned.SPAN_EXCLUSIVE_EXCLUSIVE
-                        );
-                        spannableString.setSpan(
-                            new ForegroundColorSpan(Color.BLACK),
-                            matcher.start(),
-                            matcher.end(),
-                            Spanned.SPAN_EXCLUSIVE_EXCLUSIVE
-                        );
-                    }
-                } else {
-                    // Fall back to simple text highlighting
-                    String lowerText = text.toLowerCase();
-                    String lowerQuery = query.toLowerCase();
-                    int index = lowerText.indexOf(lowerQuery);
-                    
-                    while (index >= 0) {
-                        spannableString.setSpan(
-                            new BackgroundColorSpan(Color.YELLOW),
-                            index,
-                            index + query.length(),
-                            Spanned.SPAN_EXCLUSIVE_EXCLUSIVE
-                        );
-                        spannableString.setSpan(
-                            new ForegroundColorSpan(Color.BLACK),
-                            index,
-                            index + query.length(),
-                            Spanned.SPAN_EXCLUSIVE_EXCLUSIVE
-                        );
-                        
-                        index = lowerText.indexOf(lowerQuery, index + 1);
-                    }
-                }
-            } catch (Exception e) {
-                // If highlighting fails, return original text
-                return spannableString;
-            }
-            
+            filter.findMatches(text, (start, end) -> {
+                spannableString.setSpan(
+                    new BackgroundColorSpan(Color.YELLOW),
+                    start,
+                    end,
+                    Spanned.SPAN_EXCLUSIVE_EXCLUSIVE
+                );
+                spannableString.setSpan(
+                    new ForegroundColorSpan(Color.BLACK),
+                    start,
+                    end,
+                    Spanned.SPAN_EXCLUSIVE_EXCLUSIVE
+                );
+            });
             return spannableString;
         }
         
-        private boolean isValidRegex(String regex) {
-            try {
-                Pattern.compile(regex);
-                return true;
-            } catch (Exception e) {
-                return false;
-            }
-        }
-        
         private void setItemBackground(LogEntry entry) {
             int backgroundColor;
             
@@ -301,7 +375,8 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
     public List<LogEntry> getFilteredEntries() {
         List<LogEntry> filtered = new ArrayList<>();
         
-        for (LogEntry entry : logEntries) {
+        for (int i = 0; i < getItemCount(); i++) {
+            LogEntry entry = getEntry(i);
             if (matchesFilters(entry)) {
                 filtered.add(entry);
             }
@@ -321,19 +396,15 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
             return false;
         }
         
-        // Search query filter
-        if (!searchQuery.trim().isEmpty()) {
-            return entry.matchesFilter(searchQuery);
-        }
-        
-        return true;
+        // Search query, category and time filter
+        return filter.matches(entry);
     }
     
     // Statistics methods
     public int getErrorCount() {
         int count = 0;
-        for (LogEntry entry : logEntries) {
-            if (entry.getLevel() == LogEntry.LogLevel.ERROR) {
+        for (int i = 0; i < getItemCount(); i++) {
+            if (getLevel(i) == LogEntry.LogLevel.ERROR) {
                 count++;
             }
         }
@@ -342,8 +413,8 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
     
     public int getWarningCount() {
         int count = 0;
-        for (LogEntry entry : logEntries) {
-            if (entry.getLevel() == LogEntry.LogLevel.WARN) {
+        for (int i = 0; i < getItemCount(); i++) {
+            if (getLevel(i) == LogEntry.LogLevel.WARN) {
                 count++;
             }
         }
@@ -352,8 +423,8 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
     
     public int getImportantCount() {
         int count = 0;
-        for (LogEntry entry : logEntries) {
-            if (entry.isImportant()) {
+        for (int i = 0; i < getItemCount(); i++) {
+            if (getEntry(i).isImportant()) {
                 count++;
             }
         }
@@ -380,24 +451,29 @@ public class LogCategoryAdapter extends RecyclerView.Adapter<LogCategoryAdapter.
     
     // Clear all entries
     public void clear() {
-        logEntries.clear();
-        notifyDataSetChanged();
+        updateLiveEntries(new LogStore(), new LogStore.IdList());
+        updateEntries(new LogStore(), new LogStore.IdList());
     }
     
     // Add single entry
     public void addEntry(LogEntry entry) {
         if (entry != null) {
-            logEntries.add(entry);
-            notifyItemInserted(logEntries.size() - 1);
+            addEntries(Collections.singletonList(entry));
         }
     }
     
-    // Add multiple entries
+    // Add multiple entries (stored after everything already in the store)
     public void addEntries(List<LogEntry> entries) {
         if (entries != null && !entries.isEmpty()) {
-            int startPosition = logEntries.size();
-            logEntries.addAll(entries);
-            notifyItemRangeInserted(startPosition, entries.size());
+            int firstId = store.add(entries);
+            LogStore.IdList updated = new LogStore.IdList(idCount + entries.size());
+            for (int i = 0; i < idCount; i++) {
+                updated.add(ids[i]);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                updated.add(firstId + i);
+            }
+            updateEntries(store, updated);
         }
     }
 }
\ No newline at end of file
@@ -3,10 +3,6 @@
 
 package com.terrarialoader.ui;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
-
 /**
  * Enhanced log entry model for advanced logging system
  * Supports categorization, filtering, and rich metadata
@@ -14,22 +10,25 @@ import java.util.Locale;
 public class LogEntry {
     
     public enum LogLevel {
-        DEBUG("DEBUG", "#808080"),
-        INFO("INFO", "#2196F3"),
-        WARN("WARN", "#FF9800"),
-        ERROR("ERROR", "#F44336"),
-        USER("USER", "#4CAF50");
+        DEBUG("DEBUG", "#808080", 0),
+        INFO("INFO", "#2196F3", 1),
+        WARN("WARN", "#FF9800", 3),
+        ERROR("ERROR", "#F44336", 4),
+        USER("USER", "#4CAF50", 2);
         
         private final String displayName;
         private final String color;
+        private final int priority;
         
-        LogLevel(String displayName, String color) {
+        LogLevel(String displayName, String color, int priority) {
             this.displayName = displayName;
             this.color = color;
+            this.priority = priority;
         }
         
         public String getDisplayName() { return displayName; }
         public String getColor() { return color; }
+        public int getPriority() { return priority; }
     }
     
     public enum LogType {
@@ -55,17 +54,32 @@ public class LogEntry {
     private final String tag;
     private final String message;
     private final String threadName;
-    private final String className;
+    
+    // Caller attribution: captured cheaply (no StackTraceElement objects) only when wanted,
+    // resolved to a class name on first getClassName()
+    private Throwable callSite;
+    private String className;
+    
+    // When false, only APP warnings and errors record their caller
+    private static volatile boolean callerAttributionForAll = false;
     
     // Primary constructor
     public LogEntry(long timestamp, LogLevel level, LogType type, String tag, String message) {
+        this(timestamp, level, type, tag, message, null);
+        if (wantsCallerAttribution(this.level, this.type)) {
+            this.callSite = new Throwable();
+        }
+    }
+    
+    // Constructor for call sites that know their caller (or have none, e.g. parsed log files)
+    public LogEntry(long timestamp, LogLevel level, LogType type, String tag, String message, String className) {
         this.timestamp = timestamp;
         this.level = level != null ? level : LogLevel.INFO;
         this.type = type != null ? type : LogType.APP;
         this.tag = tag != null ? tag : "UNKNOWN";
         this.message = message != null ? message : "";
         this.threadName = Thread.currentThread().getName();
-        this.className = getCallingClassName();
+        this.className = className;
     }
     
     // Convenience constructor for app logs
@@ -85,19 +99,42 @@ public class LogEntry {
     public String getTag() { return tag; }
     public String getMessage() { return message; }
     public String getThreadName() { return threadName; }
-    public String getClassName() { return className; }
+    
+    public String getClassName() {
+        if (className == null && callSite != null) {
+            className = getCallingClassName(callSite);
+            callSite = null;
+        }
+        return className;
+    }
+    
+    // Record callers for every level (debug mode) instead of just warnings and errors
+    public static void setCallerAttributionEnabled(boolean enabled) {
+        callerAttributionForAll = enabled;
+    }
+    
+    public static boolean isCallerAttributionEnabled() {
+        return callerAttributionForAll;
+    }
+    
+    private static boolean wantsCallerAttribution(LogLevel level, LogType type) {
+        if (type != LogType.APP) {
+            return false; // Game and system entries are not produced by our own call sites
+        }
+        return callerAttributionForAll || level == LogLevel.ERROR || level == LogLevel.WARN;
+    }
     
     // Formatted timestamp
     public String getFormattedTimestamp() {
-        return new SimpleDateFormat("HH:mm:ss.SSS", Locale.getDefault()).format(new Date(timestamp));
+        return LogTimeFormatter.formatTime(timestamp);
     }
     
     public String getFormattedDate() {
-        return new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).format(new Date(timestamp));
+        return LogTimeFormatter.formatDate(timestamp);
     }
     
     public String getFormattedDateTime() {
-        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date(timestamp));
+        return LogTimeFormatter.formatDateTime(timestamp);
     }
     
     // Formatted string representation
@@ -118,8 +155,9 @@ public class LogEntry {
         sb.append("Type: ").append(type.getDisplayName()).append("\n");
         sb.append("Tag: ").append(tag).append("\n");
         sb.append("Thread: ").append(threadName).append("\n");
-        if (className != null && !className.isEmpty()) {
-            sb.append("Class: ").append(className).append("\n");
+        String caller = getClassName();
+        if (caller != null && !caller.isEmpty()) {
+            sb.append("Class: ").append(caller).append("\n");
         }
         sb.append("Message: ").append(message);
         return sb.toString();
@@ -165,14 +203,7 @@ public class LogEntry {
     
     // Priority for sorting (higher = more important)
     public int getPriority() {
-        switch (level) {
-            case ERROR: return 4;
-            case WARN: return 3;
-            case USER: return 2;
-            case INFO: return 1;
-            case DEBUG: return 0;
-            default: return 0;
-        }
+        return level.getPriority();
     }
     
     // Get severity color for UI display
@@ -189,15 +220,17 @@ public class LogEntry {
     }
     
     // Get calling class name for debugging
-    private String getCallingClassName() {
+    private static String getCallingClassName(Throwable callSite) {
         try {
-            StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-            // Skip the first few elements (Thread.getStackTrace, this constructor, etc.)
-            for (int i = 3; i < stackTrace.length && i < 8; i++) {
+            StackTraceElement[] stackTrace = callSite.getStackTrace();
+            // Skip this class's constructors/factory methods and the LogUtils wrappers
+            for (int i = 0; i < stackTrace.length && i < 8; i++) {
                 String className = stackTrace[i].getClassName();
                 if (!className.startsWith("java.") && 
                     !className.startsWith("android.") &&
-                    !className.equals(LogEntry.class.getName())) {
+                    !className.startsWith("dalvik.") &&
+                    !className.equals(LogEntry.class.getName()) &&
+                    !className.startsWith("com.terrarialoader.util.LogUtils")) {
                     return className.substring(className.lastIndexOf('.') + 1);
                 }
             }
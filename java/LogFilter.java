@@ -0,0 +1,305 @@
+// File: LogFilter.java - Precompiled log filter shared by filtering and highlighting
+// Path: /main/java/com/terrarialoader/ui/LogFilter.java
+
+package com.terrarialoader.ui;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable filter compiled once per query change: time range, category keywords and the
+ * search query (regex or plain text). Category keywords and plain text are matched with a
+ * case-folding keyword automaton, so each message is scanned once without lower-casing it.
+ * The same compiled query drives row highlighting in LogCategoryAdapter.
+ * Safe to share between threads; regex matchers are created per pass.
+ */
+public final class LogFilter {
+
+    public static final LogFilter NONE = new LogFilter(Long.MIN_VALUE, "", "", false);
+
+    // Receives [start, end) of each search query match
+    public interface MatchSink {
+        void onMatch(int start, int end);
+    }
+
+    private final long fromTime;
+    private final String[] categoryKeywords;
+    private final KeywordMatcher categoryMatcher; // null = all categories
+    private final Pattern queryPattern;           // Set in regex mode when the expression is valid
+    private final KeywordMatcher queryMatcher;    // Plain text search, or fallback for invalid regex
+    private final boolean invalidRegex;
+    private final String plainQuery; // Query answered through the search index, null for regex
+
+    /**
+     * @param fromTime entries older than this are rejected (Long.MIN_VALUE = all time)
+     * @param categoryKeywords "|"-separated keywords, any of which the message must contain ("" = any)
+     * @param query search text matched against message and tag ("" or blank = no search)
+     * @param regex treat query as a case-insensitive regular expression
+     */
+    public LogFilter(long fromTime, String categoryKeywords, String query, boolean regex) {
+        this.fromTime = fromTime;
+        this.categoryKeywords = categoryKeywords == null || categoryKeywords.isEmpty() ? null :
+            categoryKeywords.split("\\|");
+        this.categoryMatcher = this.categoryKeywords == null ? null : new KeywordMatcher(this.categoryKeywords);
+
+        Pattern pattern = null;
+        boolean invalid = false;
+        if (query != null && !query.trim().isEmpty() && regex) {
+            try {
+                pattern = Pattern.compile(query, Pattern.CASE_INSENSITIVE);
+            } catch (PatternSyntaxException e) {
+                invalid = true; // Fall back to simple text search if regex is invalid
+            }
+        }
+        this.queryPattern = pattern;
+        this.invalidRegex = invalid;
+        this.plainQuery = pattern == null && query != null && !query.trim().isEmpty() ? query : null;
+        this.queryMatcher = plainQuery != null ? new KeywordMatcher(new String[] { plainQuery }) : null;
+    }
+
+    public boolean hasQuery() {
+        return queryPattern != null || queryMatcher != null;
+    }
+
+    // Regex mode was requested but the expression did not compile
+    public boolean isInvalidRegex() {
+        return invalidRegex;
+    }
+
+    public boolean matches(LogEntry entry) {
+        return matches(entry, queryPattern != null ? queryPattern.matcher("") : null);
+    }
+
+    /**
+     * Ids below limit that may pass the filter, narrowed with the index: time column,
+     * category keywords (any) and plain query words (all). Regex queries are not narrowed.
+     */
+    public BitSet candidates(LogSearchIndex index, int limit) {
+        BitSet result = index.inTimeRange(fromTime, Long.MAX_VALUE, limit);
+        if (categoryKeywords != null && !result.isEmpty()) {
+            result.and(index.matchingAnyPhrase(categoryKeywords, limit));
+        }
+        if (plainQuery != null && !result.isEmpty()) {
+            result.and(index.matchingPhrase(plainQuery, limit));
+        }
+        return result;
+    }
+
+    /**
+     * Appends the ids in [fromId, toId) that pass the filter to dest, in id order.
+     * Messages are decoded into a reused buffer, so no LogEntry or String is created per entry.
+     * @param candidates ids to check (see candidates()), or null to check every id in the range
+     * @return number of ids added
+     */
+    public int filterInto(LogStore store, BitSet candidates, int fromId, int toId, LogStore.IdList dest) {
+        Matcher matcher = queryPattern != null ? queryPattern.matcher("") : null;
+        CharBuffer message = null;
+        int added = 0;
+        for (int id = candidates != null ? candidates.nextSetBit(fromId) : fromId;
+             id >= 0 && id < toId;
+             id = candidates != null ? candidates.nextSetBit(id + 1) : id + 1) {
+            if (store.getTimestamp(id) < fromTime) {
+                continue;
+            }
+            message = store.getMessage(id, message);
+            if (matches(Long.MAX_VALUE, message, store.getTag(id), matcher)) {
+                dest.add(id);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private boolean matches(LogEntry entry, Matcher matcher) {
+        return matches(entry.getTimestamp(), entry.getMessage(), entry.getTag(), matcher);
+    }
+
+    private boolean matches(long timestamp, CharSequence message, CharSequence tag, Matcher matcher) {
+        if (timestamp < fromTime) {
+            return false;
+        }
+        if (categoryMatcher != null && !categoryMatcher.containsAny(message)) {
+            return false;
+        }
+        if (matcher != null) {
+            return matcher.reset(message).find() || (tag != null && matcher.reset(tag).find());
+        }
+        if (queryMatcher != null) {
+            return queryMatcher.containsAny(message) || (tag != null && queryMatcher.containsAny(tag));
+        }
+        return true;
+    }
+
+    // Reports every non-empty search query match in text
+    public void findMatches(CharSequence text, MatchSink sink) {
+        if (queryPattern != null) {
+            Matcher matcher = queryPattern.matcher(text);
+            while (matcher.find()) {
+                if (matcher.end() > matcher.start()) {
+                    sink.onMatch(matcher.start(), matcher.end());
+                }
+            }
+        } else if (queryMatcher != null) {
+            queryMatcher.findAll(text, sink);
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton over case-folded chars, expanded into a full transition table.
+     * Columns cover only the chars that occur in the keywords; any other char resets to the root.
+     */
+    private static final class KeywordMatcher {
+        private final int[] asciiColumns = new int[128]; // Upper and lower case map to one column
+        private final char[] otherChars;                 // Sorted folded non-ASCII chars
+        private final int[] otherColumns;
+        private final int[][] next;
+        private final int[] matchLength; // > 0: a keyword of this length ends in the state
+
+        KeywordMatcher(String[] keywords) {
+            List<char[]> folded = new ArrayList<>(keywords.length);
+            for (String keyword : keywords) {
+                if (keyword.isEmpty()) {
+                    continue;
+                }
+                char[] chars = keyword.toCharArray();
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = fold(chars[i]);
+                }
+                folded.add(chars);
+            }
+
+            // Alphabet
+            Arrays.fill(asciiColumns, -1);
+            StringBuilder other = new StringBuilder();
+            int columns = 0;
+            for (char[] chars : folded) {
+                for (char c : chars) {
+                    if (c < 128) {
+                        if (asciiColumns[c] < 0) {
+                            asciiColumns[c] = columns;
+                            if (c >= 'a' && c <= 'z') {
+                                asciiColumns[c - ('a' - 'A')] = columns;
+                            }
+                            columns++;
+                        }
+                    } else if (other.indexOf(String.valueOf(c)) < 0) {
+                        other.append(c);
+                    }
+                }
+            }
+            otherChars = other.toString().toCharArray();
+            Arrays.sort(otherChars);
+            otherColumns = new int[otherChars.length];
+            for (int i = 0; i < otherChars.length; i++) {
+                otherColumns[i] = columns++;
+            }
+
+            // Trie
+            List<int[]> states = new ArrayList<>();
+            List<Integer> lengths = new ArrayList<>();
+            states.add(newRow(columns));
+            lengths.add(0);
+            for (char[] chars : folded) {
+                int state = 0;
+                for (char c : chars) {
+                    int column = column(c);
+                    if (states.get(state)[column] < 0) {
+                        states.get(state)[column] = states.size();
+                        states.add(newRow(columns));
+                        lengths.add(0);
+                    }
+                    state = states.get(state)[column];
+                }
+                lengths.set(state, Math.max(lengths.get(state), chars.length));
+            }
+
+            next = states.toArray(new int[0][]);
+            matchLength = new int[next.length];
+            for (int i = 0; i < matchLength.length; i++) {
+                matchLength[i] = lengths.get(i);
+            }
+
+            // Failure links, breadth first, folded into the transition table
+            int[] fail = new int[next.length];
+            int[] queue = new int[next.length];
+            int queueHead = 0;
+            int queueTail = 0;
+            for (int column = 0; column < columns; column++) {
+                int child = next[0][column];
+                if (child < 0) {
+                    next[0][column] = 0;
+                } else {
+                    fail[child] = 0;
+                    queue[queueTail++] = child;
+                }
+            }
+            while (queueHead < queueTail) {
+                int state = queue[queueHead++];
+                for (int column = 0; column < columns; column++) {
+                    int child = next[state][column];
+                    if (child < 0) {
+                        next[state][column] = next[fail[state]][column];
+                    } else {
+                        fail[child] = next[fail[state]][column];
+                        matchLength[child] = Math.max(matchLength[child], matchLength[fail[child]]);
+                        queue[queueTail++] = child;
+                    }
+                }
+            }
+        }
+
+        boolean containsAny(CharSequence text) {
+            int state = 0;
+            for (int i = 0, length = text.length(); i < length; i++) {
+                int column = column(text.charAt(i));
+                state = column < 0 ? 0 : next[state][column];
+                if (matchLength[state] > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void findAll(CharSequence text, MatchSink sink) {
+            int state = 0;
+            for (int i = 0, length = text.length(); i < length; i++) {
+                int column = column(text.charAt(i));
+                state = column < 0 ? 0 : next[state][column];
+                if (matchLength[state] > 0) {
+                    sink.onMatch(i + 1 - matchLength[state], i + 1);
+                }
+            }
+        }
+
+        private int column(char c) {
+            if (c < 128) {
+                return asciiColumns[c];
+            }
+            c = fold(c);
+            if (c < 128) {
+                return asciiColumns[c];
+            }
+            int index = Arrays.binarySearch(otherChars, c);
+            return index < 0 ? -1 : otherColumns[index];
+        }
+
+        private static char fold(char c) {
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return c < 128 ? c : Character.toLowerCase(c);
+        }
+
+        private static int[] newRow(int columns) {
+            int[] row = new int[columns];
+            Arrays.fill(row, -1);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+// File: LogPageSource.java - Newest-first, paged reader over app and game log files
+// Path: /main/java/com/terrarialoader/ui/LogPageSource.java
+
+package com.terrarialoader.ui;
+
+import com.terrarialoader.util.StructuredLogFile;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads log sources from their end, one page at a time, so the viewer can show the
+ * most recent entries first and fetch older ones while the user scrolls.
+ * Sources of one log type form a stream, consumed in the order they were added. Every page
+ * is shared between the streams that still have entries, so game logs show on the first
+ * page however large the app logs are (text lines carry no timestamp to merge them by).
+ * Each stream's part of a page is newest-first.
+ * Not thread-safe: drive it from a single background thread.
+ */
+public class LogPageSource {
+    private static final int TEXT_CHUNK = 64 * 1024;
+    private static final int MAX_LINE = 1024 * 1024;
+    private static final int MAX_MESSAGE_CHARS = 8 * 1024; // Longer lines are cut for display
+
+    interface Cursor {
+        // Up to about max entries older than everything returned so far, newest first; empty when exhausted
+        List<LogEntry> previousPage(int max) throws IOException;
+    }
+
+    private final Map<LogEntry.LogType, Stream> streams = new LinkedHashMap<>();
+
+    public void addStructuredLog(File recordFile, long fromTime) {
+        streamFor(LogEntry.LogType.APP).cursors.add(new StructuredCursor(recordFile, fromTime));
+    }
+
+    public void addTextLog(File file, LogEntry.LogType type, String source) {
+        addTextLog(file, type, source, -1);
+    }
+
+    // Reads only the first length bytes, so lines appended later can be left to a LogTailer
+    public void addTextLog(File file, LogEntry.LogType type, String source, long length) {
+        streamFor(type).cursors.add(new TextCursor(file, type, source, length));
+    }
+
+    public void addText(String content, LogEntry.LogType type, String source) {
+        List<LogEntry> entries = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            if (!line.trim().isEmpty()) {
+                entries.add(parseLine(line, type, source));
+            }
+        }
+        addEntries(entries, type);
+    }
+
+    // Entries in chronological order
+    public void addEntries(List<LogEntry> entries, LogEntry.LogType type) {
+        streamFor(type).cursors.add(new ListCursor(entries));
+    }
+
+    private Stream streamFor(LogEntry.LogType type) {
+        Stream stream = streams.get(type);
+        if (stream == null) {
+            stream = new Stream();
+            streams.put(type, stream);
+        }
+        return stream;
+    }
+
+    public boolean hasMore() {
+        for (Stream stream : streams.values()) {
+            if (stream.hasMore()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Next page of older entries: an equal share from each stream that still has entries
+     * (newest first within it), crossing into a stream's next source if needed. A share a
+     * stream cannot fill goes to the others.
+     */
+    public List<LogEntry> nextPage(int pageSize) {
+        List<LogEntry> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize) {
+            int active = 0;
+            for (Stream stream : streams.values()) {
+                if (stream.hasMore()) {
+                    active++;
+                }
+            }
+            if (active == 0) {
+                break;
+            }
+
+            int share = (pageSize - page.size() + active - 1) / active;
+            for (Stream stream : streams.values()) {
+                int room = pageSize - page.size();
+                if (room <= 0) {
+                    break;
+                }
+                if (stream.hasMore()) {
+                    stream.fill(page, Math.min(share, room));
+                }
+            }
+        }
+        return page;
+    }
+
+    // Sources of one log type, read one after another
+    private static class Stream {
+        final List<Cursor> cursors = new ArrayList<>();
+        int current;
+
+        boolean hasMore() {
+            return current < cursors.size();
+        }
+
+        void fill(List<LogEntry> page, int max) {
+            int added = 0;
+            while (added < max && current < cursors.size()) {
+                List<LogEntry> entries;
+                try {
+                    entries = cursors.get(current).previousPage(max - added);
+                } catch (IOException e) {
+                    entries = Collections.emptyList();
+                }
+                if (entries.isEmpty()) {
+                    current++;
+                } else {
+                    page.addAll(entries);
+                    added += entries.size();
+                }
+            }
+        }
+    }
+
+    // === CURSORS ===
+
+    private static class ListCursor implements Cursor {
+        private final List<LogEntry> entries;
+        private int end;
+
+        ListCursor(List<LogEntry> entries) {
+            this.entries = entries;
+            this.end = entries.size();
+        }
+
+        @Override
+        public List<LogEntry> previousPage(int max) {
+            int start = Math.max(0, end - max);
+            List<LogEntry> page = new ArrayList<>(entries.subList(start, end));
+            Collections.reverse(page);
+            end = start;
+            return page;
+        }
+    }
+
+    // Walks the sparse index backwards: each step decodes the records between two index entries
+    private static class StructuredCursor implements Cursor {
+        private static final int RECORDS_PER_INDEX_ENTRY = 64;
+        private static final long CLOCK_SLACK_MS = 2000;
+
+        private final File recordFile;
+        private final long fromTime;
+        private StructuredLogFile.Index index;
+        private int nextIndex; // Index entries below this one are still unread
+        private long endOffset;
+        private boolean done;
+
+        StructuredCursor(File recordFile, long fromTime) {
+            this.recordFile = recordFile;
+            this.fromTime = fromTime;
+        }
+
+        @Override
+        public List<LogEntry> previousPage(int max) throws IOException {
+            if (index == null) {
+                endOffset = recordFile.length();
+                index = StructuredLogFile.readIndex(StructuredLogFile.indexFileFor(recordFile), endOffset);
+                nextIndex = index.size();
+            }
+
+            while (!done) {
+                int steps = Math.max(1, (max + RECORDS_PER_INDEX_ENTRY - 1) / RECORDS_PER_INDEX_ENTRY);
+                int first = Math.max(0, nextIndex - steps);
+                long startOffset = first == 0 ? 0 : index.offsets[first]; // 0 = from the file header
+
+                List<LogEntry> entries = StructuredLogFile.readRange(recordFile, startOffset, endOffset);
+                endOffset = startOffset;
+                nextIndex = first;
+                if (first == 0 || index.timestamps[first] < fromTime - CLOCK_SLACK_MS) {
+                    done = true; // Start of file, or everything earlier is older than the requested range
+                }
+
+                List<LogEntry> page = new ArrayList<>(entries.size());
+                for (int i = entries.size() - 1; i >= 0; i--) {
+                    if (entries.get(i).getTimestamp() >= fromTime) {
+                        page.add(entries.get(i));
+                    }
+                }
+                if (!page.isEmpty()) {
+                    return page;
+                }
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    // Reads a text file backwards in chunks, splitting on line breaks
+    private static class TextCursor implements Cursor {
+        private final File file;
+        private final LogEntry.LogType type;
+        private final String source;
+        private long position; // Bytes before this offset are unread; -1 = the whole file
+
+        TextCursor(File file, LogEntry.LogType type, String source, long length) {
+            this.file = file;
+            this.type = type;
+            this.source = source;
+            this.position = length;
+        }
+
+        @Override
+        public List<LogEntry> previousPage(int max) throws IOException {
+            List<LogEntry> page = new ArrayList<>();
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+                if (position < 0 || position > in.length()) {
+                    position = in.length(); // Whole file, or it was truncated since the length was taken
+                }
+                while (page.size() < max && position > 0) {
+                    int chunk = TEXT_CHUNK;
+                    long start;
+                    byte[] data;
+                    int firstBreak;
+                    while (true) {
+                        start = Math.max(0, position - chunk);
+                        data = new byte[(int) (position - start)];
+                        in.seek(start);
+                        in.readFully(data);
+                        firstBreak = -1;
+                        if (start == 0) {
+                            break; // Chunk begins the file, so its first line is complete
+                        }
+                        for (int i = 0; i < data.length; i++) {
+                            if (data[i] == '\n') {
+                                firstBreak = i;
+                                break;
+                            }
+                        }
+                        if (firstBreak >= 0 || chunk >= MAX_LINE) {
+                            break;
+                        }
+                        chunk *= 4; // A single line longer than the chunk
+                    }
+
+                    // data[from..] holds complete lines, taken from the end until the page is full;
+                    // the partial line before them and any lines left over are re-read next time
+                    int from = firstBreak >= 0 ? firstBreak + 1 : 0;
+                    int lineEnd = data.length;
+                    boolean consumed = false;
+                    while (page.size() < max) {
+                        int lineStart = lineEnd;
+                        while (lineStart > from && data[lineStart - 1] != '\n') {
+                            lineStart--;
+                        }
+                        addLine(page, data, lineStart, lineEnd);
+                        if (lineStart == from) {
+                            consumed = true;
+                            break;
+                        }
+                        lineEnd = lineStart - 1; // The line break ending the previous line
+                    }
+                    if (consumed) {
+                        position = firstBreak >= 0 ? start + firstBreak : start;
+                    } else {
+                        position = start + lineEnd;
+                    }
+                }
+            }
+            return page;
+        }
+
+        private void addLine(List<LogEntry> lines, byte[] data, int from, int to) {
+            LogEntry entry = decodeLine(data, from, to, type, source);
+            if (entry != null) {
+                lines.add(entry);
+            }
+        }
+    }
+
+    // === LINE PARSING ===
+
+    // Parses the UTF-8 line data[from..to) (without its '\n'); null for blank lines
+    static LogEntry decodeLine(byte[] data, int from, int to, LogEntry.LogType type, String source) {
+        if (to > from && data[to - 1] == '\r') {
+            to--;
+        }
+        if (to <= from) {
+            return null;
+        }
+        String line = new String(data, from, to - from, StandardCharsets.UTF_8);
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+        if (line.length() > MAX_MESSAGE_CHARS) {
+            line = line.substring(0, MAX_MESSAGE_CHARS) + "…";
+        }
+        return parseLine(line, type, source);
+    }
+
+    static LogEntry parseLine(String line, LogEntry.LogType type, String source) {
+        try {
+            // Try to parse timestamp and level from line
+            // Format: "HH:mm:ss [LEVEL] message" or similar
+
+            long timestamp = System.currentTimeMillis(); // Default to now
+            LogEntry.LogLevel level = LogEntry.LogLevel.INFO; // Default level
+            String tag = source;
+            String message = line;
+
+            // Parse log level
+            if (line.contains("[DEBUG]")) {
+                level = LogEntry.LogLevel.DEBUG;
+                message = line.replaceFirst(".*\\[DEBUG\\]\\s*", "");
+            } else if (line.contains("[ERROR]") || line.toLowerCase().contains("error")) {
+                level = LogEntry.LogLevel.ERROR;
+                message = line.replaceFirst(".*\\[ERROR\\]\\s*", "");
+            } else if (line.contains("[WARN]") || line.toLowerCase().contains("warning")) {
+                level = LogEntry.LogLevel.WARN;
+                message = line.replaceFirst(".*\\[WARN\\]\\s*", "");
+            } else if (line.contains("[USER]")) {
+                level = LogEntry.LogLevel.INFO;
+                message = line.replaceFirst(".*\\[USER\\]\\s*", "");
+                tag = "USER";
+            }
+
+            return new LogEntry(timestamp, level, type, tag, message, null);
+
+        } catch (Exception e) {
+            // Fallback: create basic entry
+            return new LogEntry(System.currentTimeMillis(), LogEntry.LogLevel.INFO, type, source, line, null);
+        }
+    }
+}
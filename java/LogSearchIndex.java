@@ -0,0 +1,192 @@
+// File: LogSearchIndex.java - Inverted token index over the entries loaded in the log viewer
+// Path: /main/java/com/terrarialoader/ui/LogSearchIndex.java
+
+package com.terrarialoader.ui;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps case-folded tokens (runs of letters and digits from message and tag) to the ids of the
+ * entries containing them. Ids are load positions, so they only grow and posting lists are
+ * stored as varint-encoded deltas. Time ranges come from the store's timestamp column, so a
+ * query is answered with set operations instead of scanning every message.
+ *
+ * Lookups return candidates: a query word only has to occur inside a token, so callers still
+ * check candidates against the exact filter (see LogFilter). Built incrementally with add();
+ * synchronized because pages are indexed on the loader thread while searches run on the filter thread.
+ * The entries themselves live in a LogStore; the index shares its ids.
+ */
+public class LogSearchIndex {
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final LogStore store;
+    private int size;
+
+    public LogSearchIndex(LogStore store) {
+        this.store = store;
+    }
+
+    // === BUILDING ===
+
+    // Indexes a page just added to the store, whose first entry got firstId
+    public synchronized void add(int firstId, List<LogEntry> page) {
+        StringBuilder token = new StringBuilder(32);
+        size = firstId;
+        for (LogEntry entry : page) {
+            int id = size++;
+            indexText(entry.getMessage(), id, token);
+            indexText(entry.getTag(), id, token);
+        }
+    }
+
+    private void indexText(String text, int id, StringBuilder token) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(fold(c));
+            } else if (token.length() > 0) {
+                String term = token.toString();
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(term, postings);
+                }
+                postings.add(id);
+                token.setLength(0);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // === QUERIES (ids below limit only) ===
+
+    /**
+     * Entries that may contain text as a substring (case-insensitive): every word of text
+     * must occur in some token, as a whole token if the text has separators on both sides of it.
+     */
+    public synchronized BitSet matchingPhrase(String text, int limit) {
+        limit = Math.min(limit, size);
+        BitSet result = new BitSet(limit);
+        result.set(0, limit);
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            StringBuilder word = new StringBuilder();
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                word.append(fold(text.charAt(i++)));
+            }
+            result.and(matchingWord(word.toString(), start > 0, i < length, limit));
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // Union of matchingPhrase over phrases
+    public synchronized BitSet matchingAnyPhrase(String[] phrases, int limit) {
+        BitSet result = new BitSet();
+        for (String phrase : phrases) {
+            if (!phrase.isEmpty()) {
+                result.or(matchingPhrase(phrase, limit));
+            }
+        }
+        return result;
+    }
+
+    // Entries with fromTime <= timestamp < toTime
+    public synchronized BitSet inTimeRange(long fromTime, long toTime, int limit) {
+        return store.inTimeRange(fromTime, toTime, Math.min(limit, size)); // Timestamps are a store column
+    }
+
+    // leftBounded: a separator precedes the word in the query, so it starts a token; rightBounded: one follows it
+    private BitSet matchingWord(String word, boolean leftBounded, boolean rightBounded, int limit) {
+        BitSet result = new BitSet(limit);
+        if (leftBounded && rightBounded) {
+            Postings postings = terms.get(word);
+            if (postings != null) {
+                postings.decodeInto(result, limit);
+            }
+        } else if (leftBounded) {
+            // Prefix: all terms sort between word and word + the largest char
+            for (Postings postings : terms.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+                postings.decodeInto(result, limit);
+            }
+        } else {
+            for (Map.Entry<String, Postings> term : terms.entrySet()) {
+                String key = term.getKey();
+                if (rightBounded ? key.endsWith(word) : key.contains(word)) {
+                    term.getValue().decodeInto(result, limit);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Same per-char folding as LogFilter, so candidates cover everything the filter accepts
+    private static char fold(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        return c < 128 ? c : Character.toLowerCase(c);
+    }
+
+    // Ascending ids, stored as varint deltas
+    private static final class Postings {
+        private byte[] data = new byte[4];
+        private int length;
+        private int lastId = -1;
+
+        void add(int id) {
+            if (id == lastId) {
+                return; // Token repeated within the same entry
+            }
+            int delta = id - lastId;
+            lastId = id;
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+            }
+            while (delta >= 0x80) {
+                data[length++] = (byte) (delta | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+        }
+
+        void decodeInto(BitSet bits, int limit) {
+            int id = -1;
+            int i = 0;
+            while (i < length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[i++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                if (id >= limit) {
+                    return;
+                }
+                bits.set(id);
+            }
+        }
+    }
+}
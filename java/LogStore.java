@@ -0,0 +1,202 @@
+// File: LogStore.java - Columnar storage for the entries loaded in the log viewer
+// Path: /main/java/com/terrarialoader/ui/LogStore.java
+
+package com.terrarialoader.ui;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Keeps log entries as primitive columns instead of one LogEntry object per line:
+ * timestamps, level and type ordinals, interned tag ids, and UTF-8 messages packed into
+ * shared byte chunks. An entry is identified by its id (load position) and turned back into
+ * a LogEntry only when a row is shown or exported. Append-only; synchronized because pages
+ * are added on the loader thread while rows are bound and filtered on other threads.
+ */
+public class LogStore {
+    private static final int CHUNK_SIZE = 256 * 1024;
+    private static final LogEntry.LogLevel[] LEVELS = LogEntry.LogLevel.values();
+    private static final LogEntry.LogType[] TYPES = LogEntry.LogType.values();
+
+    private long[] timestamps = new long[1024];
+    private byte[] levels = new byte[1024];
+    private byte[] types = new byte[1024];
+    private int[] tagIds = new int[1024];
+    private long[] messageRefs = new long[1024]; // Chunk index << 32 | offset in chunk
+    private int[] messageLengths = new int[1024]; // Bytes
+    private int size;
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    private int chunkUsed = CHUNK_SIZE; // Bytes used in the last chunk; full = start a new one
+
+    private final HashMap<String, Integer> tagIdsByName = new HashMap<>();
+    private final List<String> tags = new ArrayList<>();
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    // === BUILDING ===
+
+    /** Appends a page of entries; they get consecutive ids. @return id of the first one */
+    public synchronized int add(List<LogEntry> page) {
+        int firstId = size;
+        ensureCapacity(size + page.size());
+        for (LogEntry entry : page) {
+            int id = size++;
+            timestamps[id] = entry.getTimestamp();
+            levels[id] = (byte) entry.getLevel().ordinal();
+            types[id] = (byte) entry.getType().ordinal();
+            tagIds[id] = internTag(entry.getTag());
+
+            byte[] message = entry.getMessage().getBytes(StandardCharsets.UTF_8);
+            messageRefs[id] = storeBytes(message);
+            messageLengths[id] = message.length;
+        }
+        return firstId;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= timestamps.length) {
+            return;
+        }
+        int grown = Math.max(capacity, timestamps.length * 2);
+        timestamps = Arrays.copyOf(timestamps, grown);
+        levels = Arrays.copyOf(levels, grown);
+        types = Arrays.copyOf(types, grown);
+        tagIds = Arrays.copyOf(tagIds, grown);
+        messageRefs = Arrays.copyOf(messageRefs, grown);
+        messageLengths = Arrays.copyOf(messageLengths, grown);
+    }
+
+    private int internTag(String tag) {
+        Integer id = tagIdsByName.get(tag);
+        if (id == null) {
+            id = tags.size();
+            tags.add(tag);
+            tagIdsByName.put(tag, id);
+        }
+        return id;
+    }
+
+    private long storeBytes(byte[] bytes) {
+        if (chunkUsed + bytes.length > CHUNK_SIZE) {
+            // Oversized messages get a chunk of their own
+            chunks.add(new byte[Math.max(CHUNK_SIZE, bytes.length)]);
+            chunkUsed = 0;
+        }
+        int chunkIndex = chunks.size() - 1;
+        System.arraycopy(bytes, 0, chunks.get(chunkIndex), chunkUsed, bytes.length);
+        long ref = ((long) chunkIndex << 32) | chunkUsed;
+        chunkUsed += bytes.length;
+        return ref;
+    }
+
+    // === READING ===
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Materializes an entry for display or export
+    public synchronized LogEntry get(int id) {
+        return new LogEntry(timestamps[id], LEVELS[levels[id]], TYPES[types[id]],
+                            tags.get(tagIds[id]), getMessage(id), null);
+    }
+
+    public synchronized long getTimestamp(int id) {
+        return timestamps[id];
+    }
+
+    public synchronized LogEntry.LogLevel getLevel(int id) {
+        return LEVELS[levels[id]];
+    }
+
+    public synchronized LogEntry.LogType getType(int id) {
+        return TYPES[types[id]];
+    }
+
+    public synchronized String getTag(int id) {
+        return tags.get(tagIds[id]);
+    }
+
+    public synchronized String getMessage(int id) {
+        long ref = messageRefs[id];
+        return new String(chunks.get((int) (ref >>> 32)), (int) ref, messageLengths[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the message into buffer without allocating a String, for filtering.
+     * @return buffer, or a larger replacement, flipped for reading
+     */
+    public synchronized CharBuffer getMessage(int id, CharBuffer buffer) {
+        int length = messageLengths[id];
+        if (buffer == null || buffer.capacity() < length) {
+            buffer = CharBuffer.allocate(Math.max(length, 256)); // UTF-8 never has fewer bytes than chars
+        }
+        long ref = messageRefs[id];
+        buffer.clear();
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(chunks.get((int) (ref >>> 32)), (int) ref, length), buffer, true);
+        decoder.flush(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    // Ids below limit with fromTime <= timestamp < toTime
+    public synchronized BitSet inTimeRange(long fromTime, long toTime, int limit) {
+        limit = Math.min(limit, size);
+        BitSet result = new BitSet(limit);
+        for (int id = 0; id < limit; id++) {
+            if (timestamps[id] >= fromTime && timestamps[id] < toTime) {
+                result.set(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Growable list of entry ids. The log viewer only appends to a list after handing it
+     * to the adapter, so a reader that captured (array, size) keeps a consistent view.
+     */
+    public static final class IdList {
+        private int[] ids;
+        private int size;
+
+        public IdList() {
+            this(64);
+        }
+
+        public IdList(int capacity) {
+            ids = new int[Math.max(capacity, 16)];
+        }
+
+        public void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        public int get(int index) {
+            return ids[index];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Backing array; valid up to size()
+        public int[] array() {
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+// File: LogTailer.java - Follows text log files and parses only the lines appended to them
+// Path: /main/java/com/terrarialoader/ui/LogTailer.java
+
+package com.terrarialoader.ui;
+
+import android.os.FileObserver;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tails the Log*.txt files of a directory (MelonLoader game logs) while the viewer is open.
+ * Keeps a byte offset per file and, when the directory changes, reads only the bytes past it;
+ * a partial last line is left for the next read. FileObserver wakes the reader; a slow poll
+ * covers storage where observer events are not delivered. A file that shrinks is read again
+ * from the start (the game replaced it).
+ */
+public class LogTailer {
+    private static final long POLL_INTERVAL_MS = 2000;
+    private static final int READ_CHUNK = 256 * 1024;
+    private static final int WATCH_EVENTS = FileObserver.MODIFY | FileObserver.CLOSE_WRITE |
+                                            FileObserver.CREATE | FileObserver.MOVED_TO;
+
+    public interface Listener {
+        // Called on the tailer thread with the new entries, oldest first
+        void onEntries(List<LogEntry> entries);
+    }
+
+    private final File directory;
+    private final LogEntry.LogType type;
+    private final Listener listener;
+    private final Map<String, Long> offsets = new HashMap<>(); // Only touched on the tailer thread
+    private final AtomicBoolean readPending = new AtomicBoolean();
+    private final byte[] buffer = new byte[READ_CHUNK];
+    private ScheduledExecutorService executor;
+    private FileObserver observer;
+
+    public LogTailer(File directory, LogEntry.LogType type, Listener listener) {
+        this.directory = directory;
+        this.type = type;
+        this.listener = listener;
+    }
+
+    // Bytes of file already shown (read by the paged loader); call before start()
+    public synchronized void setStartOffset(File file, long offset) {
+        offsets.put(file.getName(), offset);
+    }
+
+    public static boolean isLogFile(String name) {
+        return name.startsWith("Log") && name.endsWith(".txt");
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return; // Already tailing
+        }
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.scheduleWithFixedDelay(this::readAppended, POLL_INTERVAL_MS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        observer = new FileObserver(directory.getAbsolutePath(), WATCH_EVENTS) {
+            @Override
+            public void onEvent(int event, String path) {
+                if (path != null && isLogFile(path)) {
+                    requestRead();
+                }
+            }
+        };
+        observer.startWatching();
+    }
+
+    public synchronized void stop() {
+        if (observer != null) {
+            observer.stopWatching();
+            observer = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    // Coalesces bursts of MODIFY events into one read
+    private synchronized void requestRead() {
+        if (executor != null && readPending.compareAndSet(false, true)) {
+            executor.execute(this::readAppended);
+        }
+    }
+
+    private void readAppended() {
+        readPending.set(false);
+        File[] files = directory.listFiles((dir, name) -> isLogFile(name));
+        if (files == null) {
+            return;
+        }
+
+        List<LogEntry> entries = new ArrayList<>();
+        for (File file : files) {
+            try {
+                readFile(file, entries);
+            } catch (IOException e) {
+                // Retried on the next event or poll
+            }
+        }
+        if (!entries.isEmpty()) {
+            listener.onEntries(entries);
+        }
+    }
+
+    private void readFile(File file, List<LogEntry> entries) throws IOException {
+        String name = file.getName();
+        Long known;
+        synchronized (this) {
+            known = offsets.get(name);
+        }
+        long offset = known != null ? known : 0; // Files created after the load are read whole
+        long length = file.length();
+        if (length < offset) {
+            offset = 0;
+        }
+        if (length == offset) {
+            return; // Unchanged: no open, no read
+        }
+
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            while (offset < length) {
+                int count = (int) Math.min(buffer.length, length - offset);
+                in.seek(offset);
+                in.readFully(buffer, 0, count);
+
+                int lineStart = 0;
+                for (int i = 0; i < count; i++) {
+                    if (buffer[i] == '\n') {
+                        addLine(entries, lineStart, i, name);
+                        lineStart = i + 1;
+                    }
+                }
+                if (lineStart == 0 && count == buffer.length) {
+                    addLine(entries, 0, count, name); // One line longer than the buffer: split it
+                    lineStart = count;
+                }
+                if (lineStart == 0) {
+                    break; // Only a partial line so far
+                }
+                offset += lineStart;
+            }
+        }
+        synchronized (this) {
+            offsets.put(name, offset);
+        }
+    }
+
+    private void addLine(List<LogEntry> entries, int from, int to, String source) {
+        LogEntry entry = LogPageSource.decodeLine(buffer, from, to, type, source);
+        if (entry != null) {
+            entries.add(entry);
+        }
+    }
+}
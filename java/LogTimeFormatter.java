@@ -0,0 +1,130 @@
+// File: LogTimeFormatter.java - Allocation-light timestamp formatting for log rows
+// Path: /main/java/com/terrarialoader/ui/LogTimeFormatter.java
+
+package com.terrarialoader.ui;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Formats log timestamps without SimpleDateFormat.
+ * Each thread caches the local day it last formatted (start/end millis and the
+ * "yyyy-MM-dd" string), so a timestamp on that day is rendered with integer math
+ * only. Digits are always ASCII, independent of locale, so log lines stay greppable.
+ * A time zone change is picked up the next time a timestamp falls outside the cached day.
+ */
+public final class LogTimeFormatter {
+    public static final int TIME_LENGTH = 12;      // HH:mm:ss.SSS
+    public static final int DATE_TIME_LENGTH = 19; // yyyy-MM-dd HH:mm:ss
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    // Subclassed rather than ThreadLocal.withInitial, which needs API 26
+    private static final ThreadLocal<State> STATE = new ThreadLocal<State>() {
+        @Override
+        protected State initialValue() {
+            return new State();
+        }
+    };
+
+    private LogTimeFormatter() {}
+
+    private static final class State {
+        final Calendar calendar = Calendar.getInstance();
+        final char[] buffer = new char[DATE_TIME_LENGTH];
+        long dayStart = Long.MAX_VALUE;
+        long dayEnd = Long.MIN_VALUE;
+        boolean uniformDay; // No DST shift inside the day: time of day = timestamp - dayStart
+        String date;
+
+        void load(long timestamp) {
+            if (timestamp >= dayStart && timestamp < dayEnd) {
+                return;
+            }
+            TimeZone zone = TimeZone.getDefault();
+            calendar.setTimeZone(zone);
+            calendar.setTimeInMillis(timestamp);
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            dayStart = calendar.getTimeInMillis();
+
+            char[] chars = new char[10];
+            writeDigits(chars, 0, calendar.get(Calendar.YEAR), 4);
+            chars[4] = '-';
+            writeDigits(chars, 5, calendar.get(Calendar.MONTH) + 1, 2);
+            chars[7] = '-';
+            writeDigits(chars, 8, calendar.get(Calendar.DAY_OF_MONTH), 2);
+            date = new String(chars);
+
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            dayEnd = calendar.getTimeInMillis();
+            uniformDay = dayEnd - dayStart == DAY_MS && zone.getOffset(dayStart) == zone.getOffset(dayEnd - 1);
+        }
+
+        // Milliseconds since local midnight
+        int timeOfDay(long timestamp) {
+            if (uniformDay) {
+                return (int) (timestamp - dayStart);
+            }
+            calendar.setTimeInMillis(timestamp);
+            return ((calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE)) * 60
+                    + calendar.get(Calendar.SECOND)) * 1000 + calendar.get(Calendar.MILLISECOND);
+        }
+    }
+
+    /**
+     * Writes HH:mm:ss.SSS into dest at offset; dest needs TIME_LENGTH free chars.
+     * @return number of chars written
+     */
+    public static int formatTime(long timestamp, char[] dest, int offset) {
+        State state = STATE.get();
+        state.load(timestamp);
+        writeTime(state.timeOfDay(timestamp), dest, offset, true);
+        return TIME_LENGTH;
+    }
+
+    public static String formatTime(long timestamp) {
+        State state = STATE.get();
+        formatTime(timestamp, state.buffer, 0);
+        return new String(state.buffer, 0, TIME_LENGTH);
+    }
+
+    // yyyy-MM-dd; returns the cached string for the current day
+    public static String formatDate(long timestamp) {
+        State state = STATE.get();
+        state.load(timestamp);
+        return state.date;
+    }
+
+    public static String formatDateTime(long timestamp) {
+        State state = STATE.get();
+        state.load(timestamp);
+        char[] buffer = state.buffer;
+        state.date.getChars(0, 10, buffer, 0);
+        buffer[10] = ' ';
+        writeTime(state.timeOfDay(timestamp), buffer, 11, false);
+        return new String(buffer, 0, DATE_TIME_LENGTH);
+    }
+
+    private static void writeTime(int millisOfDay, char[] dest, int offset, boolean withMillis) {
+        int seconds = millisOfDay / 1000;
+        writeDigits(dest, offset, seconds / 3600, 2);
+        dest[offset + 2] = ':';
+        writeDigits(dest, offset + 3, (seconds / 60) % 60, 2);
+        dest[offset + 5] = ':';
+        writeDigits(dest, offset + 6, seconds % 60, 2);
+        if (withMillis) {
+            dest[offset + 8] = '.';
+            writeDigits(dest, offset + 9, millisOfDay % 1000, 3);
+        }
+    }
+
+    private static void writeDigits(char[] dest, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            dest[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,555 @@
+// File: LogUtils.java (FIXED) - Correct Log Rotation Logic, asynchronous file writer
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/util/LogUtils.java
+
+package com.terrarialoader.util;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.terrarialoader.ui.LogEntry;
+import com.terrarialoader.ui.LogTimeFormatter;
+import com.terrarialoader.ui.SettingsActivity;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class LogUtils {
+    private static final StringBuilder debugLog = new StringBuilder();
+    private static final StringBuilder userLog = new StringBuilder();
+    private static Context appContext;
+    private static final String PREFS_NAME = "terraria_loader_prefs";
+    
+    // Cached "auto_save_logs" preference - read once instead of on every log line
+    private static volatile boolean autoSaveEnabled = false;
+    
+    // Resolved once in initialize(); getExternalFilesDir does file I/O on every call
+    private static volatile File appLogsDir;
+    private static volatile AsyncLogWriter fileWriter;
+    
+    // FIXED: Rotating log constants
+    private static final int MAX_LOG_FILES = 5;
+    private static final String GAME_LOG_PREFIX = "Log";
+    private static final String APP_LOG_PREFIX = "AppLog";
+    private static final String[] LOG_EXTENSIONS = {".txt", StructuredLogFile.RECORD_SUFFIX, StructuredLogFile.INDEX_SUFFIX};
+
+    public static void initialize(Context context) {
+        appContext = context.getApplicationContext();
+        File gameBaseDir = new File(appContext.getExternalFilesDir(null), "TerrariaLoader/com.and.games505.TerrariaPaid");
+        appLogsDir = new File(gameBaseDir, "AppLogs");
+        autoSaveEnabled = appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                                    .getBoolean("auto_save_logs", false);
+        
+        // FIXED: Initialize app logs directory
+        initializeAppLogsDirectory();
+    }
+    
+    // FIXED: Initialize app logs directory with proper structure
+    private static void initializeAppLogsDirectory() {
+        if (appContext == null) return;
+        
+        try {
+            // Create app logs directory in the new structure
+            File appLogsDir = getAppLogsDir();
+            if (!appLogsDir.exists()) {
+                appLogsDir.mkdirs();
+                logDebug("Created app logs directory: " + appLogsDir.getAbsolutePath());
+            }
+        } catch (Exception e) {
+            // Silent fail during initialization
+        }
+    }
+
+    public static void debug(String message) {
+        append(debugLog, LogEntry.LogLevel.DEBUG, message);
+    }
+
+    public static void user(String message) {
+        append(userLog, LogEntry.LogLevel.USER, message);
+    }
+
+    // In-memory copy is updated synchronously; the file write is handed to the background writer
+    private static void append(StringBuilder log, LogEntry.LogLevel level, String message) {
+        long now = System.currentTimeMillis();
+        synchronized (LogUtils.class) {
+            log.append(LogTimeFormatter.formatTime(now)).append(" [").append(level.getDisplayName()).append("] ")
+               .append(message).append("\n");
+        }
+        
+        if (autoSaveEnabled && appContext != null) {
+            getFileWriter().enqueue(new LogEntry(now, level, LogEntry.LogType.APP, "APP", message));
+        }
+    }
+    
+    private static AsyncLogWriter getFileWriter() {
+        AsyncLogWriter writer = fileWriter;
+        if (writer == null) {
+            writer = AsyncLogWriter.getInstance(getAppLogsDir(), APP_LOG_PREFIX);
+            writer.setOverflowPolicy(SettingsActivity.getLogDebugHighWaterPercent(appContext),
+                                     SettingsActivity.getLogBlockingLevel(appContext));
+            fileWriter = writer;
+        }
+        return writer;
+    }
+    
+    // Waits (bounded) for queued lines to reach the app log file, e.g. before reading or exporting it
+    public static void flushLogFile() {
+        AsyncLogWriter writer = AsyncLogWriter.peekInstance();
+        if (writer != null) {
+            writer.flush(2000);
+        }
+    }
+    
+    private static File getAppLogsDir() {
+        return appLogsDir;
+    }
+
+    // Wrapper methods for compatibility
+    public static void logDebug(String message) {
+        debug(message);
+    }
+
+    public static void logUser(String message) {
+        user(message);
+    }
+
+    public static synchronized String getLogs() {
+        return debugLog.toString() + userLog.toString();
+    }
+
+    public static synchronized String getDebugLogs() {
+        return debugLog.toString();
+    }
+
+    public static synchronized String getUserLogs() {
+        return userLog.toString();
+    }
+
+    // Enhanced log filtering functionality
+    public static String getFilteredLogs(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return getLogs();
+        }
+        
+        String allLogs = getLogs();
+        String[] lines = allLogs.split("\n");
+        StringBuilder filtered = new StringBuilder();
+        
+        String filterLower = filter.toLowerCase();
+        for (String line : lines) {
+            if (line.toLowerCase().contains(filterLower)) {
+                filtered.append(line).append("\n");
+            }
+        }
+        
+        return filtered.toString();
+    }
+
+    // Get logs by category
+    public static String getLogsByCategory(String category) {
+        String allLogs = getLogs();
+        String[] lines = allLogs.split("\n");
+        StringBuilder categoryLogs = new StringBuilder();
+        
+        for (String line : lines) {
+            if (line.contains("[" + category.toUpperCase() + "]")) {
+                categoryLogs.append(line).append("\n");
+            }
+        }
+        
+        return categoryLogs.toString();
+    }
+
+    // Get recent logs (last N entries)
+    public static String getRecentLogs(int count) {
+        String allLogs = getLogs();
+        String[] lines = allLogs.split("\n");
+        
+        int startIndex = Math.max(0, lines.length - count);
+        StringBuilder recent = new StringBuilder();
+        
+        for (int i = startIndex; i < lines.length; i++) {
+            if (!lines[i].trim().isEmpty()) {
+                recent.append(lines[i]).append("\n");
+            }
+        }
+        
+        return recent.toString();
+    }
+
+    private static String getTime() {
+        return LogTimeFormatter.formatTime(System.currentTimeMillis());
+    }
+
+    public static void saveLogsToFile(File output) throws IOException {
+        FileWriter writer = new FileWriter(output);
+        writer.write(getLogs());
+        writer.close();
+    }
+
+    // FIXED: Implement log rotation (Log.txt -> Log1.txt -> Log2.txt -> ... -> Log5.txt)
+    static void rotateLogFiles(File logDir, String logPrefix) {
+        // The structured record/index files rotate in step with the text log
+        for (String extension : LOG_EXTENSIONS) {
+            rotateLogFiles(logDir, logPrefix, extension);
+        }
+    }
+    
+    private static void rotateLogFiles(File logDir, String logPrefix, String extension) {
+        try {
+            // Delete the oldest log file (Log5.txt)
+            File oldestLog = new File(logDir, logPrefix + MAX_LOG_FILES + extension);
+            if (oldestLog.exists()) {
+                oldestLog.delete();
+            }
+            
+            // Rotate existing log files (Log4.txt -> Log5.txt, Log3.txt -> Log4.txt, etc.)
+            for (int i = MAX_LOG_FILES - 1; i >= 1; i--) {
+                File currentFile = new File(logDir, logPrefix + i + extension);
+                File nextFile = new File(logDir, logPrefix + (i + 1) + extension);
+                
+                if (currentFile.exists()) {
+                    currentFile.renameTo(nextFile);
+                }
+            }
+            
+            // Move current log to Log1.txt
+            File currentLog = new File(logDir, logPrefix + extension);
+            File firstBackup = new File(logDir, logPrefix + "1" + extension);
+            
+            if (currentLog.exists()) {
+                currentLog.renameTo(firstBackup);
+            }
+            
+        } catch (Exception e) {
+            // Silent fail for rotation
+        }
+    }
+    
+    public static void rotateGameLogs(Context context, String gamePackage) {
+        if (context == null || gamePackage == null) return;
+        
+        try {
+            File gameBaseDir = new File(context.getExternalFilesDir(null), "TerrariaLoader/" + gamePackage);
+            File gameLogsDir = new File(gameBaseDir, "Logs");
+            if (!gameLogsDir.exists()) {
+                gameLogsDir.mkdirs();
+            }
+            
+            rotateLogFiles(gameLogsDir, GAME_LOG_PREFIX);
+            
+        } catch (Exception e) {
+            logDebug("Game log rotation failed: " + e.getMessage());
+        }
+    }
+    
+    // FIXED: Manual log rotation trigger
+    public static void forceLogRotation() {
+        if (appContext == null) return;
+        
+        try {
+            File appLogsDir = getAppLogsDir();
+            if (!appLogsDir.exists()) {
+                appLogsDir.mkdirs();
+            }
+            
+            AsyncLogWriter writer = AsyncLogWriter.peekInstance();
+            if (writer != null) {
+                writer.flush(2000);
+                writer.rotateNow();
+            } else {
+                rotateLogFiles(appLogsDir, APP_LOG_PREFIX);
+            }
+            logUser("Log rotation completed manually");
+            
+        } catch (Exception e) {
+            logDebug("Manual log rotation failed: " + e.getMessage());
+        }
+    }
+
+    public static void clearLogs() {
+        synchronized (LogUtils.class) {
+            debugLog.setLength(0);
+            userLog.setLength(0);
+        }
+        
+        logUser("Logs cleared at " + getTime());
+    }
+    
+    // FIXED: Clear all log files (including rotated ones)
+    public static void clearAllLogFiles() {
+        if (appContext == null) return;
+        
+        try {
+            File appLogsDir = getAppLogsDir();
+            if (appLogsDir.exists()) {
+                // Delete all app log files
+                Runnable deleteAll = () -> {
+                    for (int i = 0; i <= MAX_LOG_FILES; i++) {
+                        for (String extension : LOG_EXTENSIONS) {
+                            String fileName = i == 0 ? APP_LOG_PREFIX + extension : APP_LOG_PREFIX + i + extension;
+                            File logFile = new File(appLogsDir, fileName);
+                            if (logFile.exists()) {
+                                logFile.delete();
+                            }
+                        }
+                    }
+                };
+                AsyncLogWriter writer = AsyncLogWriter.peekInstance();
+                if (writer != null) {
+                    writer.withFileReleased(deleteAll);
+                } else {
+                    deleteAll.run();
+                }
+                logUser("All app log files cleared");
+            }
+        } catch (Exception e) {
+            logDebug("Failed to clear log files: " + e.getMessage());
+        }
+    }
+
+    // Settings integration
+    public static void setAutoSaveEnabled(boolean enabled) {
+        if (appContext == null) return;
+        
+        SharedPreferences prefs = appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        prefs.edit().putBoolean("auto_save_logs", enabled).apply();
+        autoSaveEnabled = enabled;
+        if (!enabled) {
+            flushLogFile();
+        }
+        
+        logUser("Auto-save logs " + (enabled ? "enabled" : "disabled"));
+    }
+
+    // Log statistics
+    public static int getLogCount() {
+        return getLogs().split("\n").length;
+    }
+
+    public static int getDebugLogCount() {
+        return getDebugLogs().split("\n").length;
+    }
+
+    public static int getUserLogCount() {
+        return getUserLogs().split("\n").length;
+    }
+
+    // FIXED: Get log files info
+    public static String getLogFilesInfo() {
+        if (appContext == null) return "Context not available";
+        
+        StringBuilder info = new StringBuilder();
+        info.append("=== App Log Files ===\n");
+        
+        try {
+            flushLogFile();
+            File appLogsDir = getAppLogsDir();
+            if (appLogsDir.exists()) {
+                for (int i = 0; i <= MAX_LOG_FILES; i++) {
+                    String fileName = i == 0 ? APP_LOG_PREFIX + ".txt" : APP_LOG_PREFIX + i + ".txt";
+                    File logFile = new File(appLogsDir, fileName);
+                    
+                    if (logFile.exists()) {
+                        info.append("📄 ").append(fileName);
+                        info.append(" (").append(formatFileSize(logFile.length())).append(")");
+                        info.append(" - ").append(new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault()).format(new Date(logFile.lastModified())));
+                        info.append("\n");
+                    } else {
+                        info.append("❌ ").append(fileName).append(" (not found)\n");
+                    }
+                }
+                
+                info.append("\nDirectory: ").append(appLogsDir.getAbsolutePath()).append("\n");
+            } else {
+                info.append("App logs directory not found\n");
+            }
+        } catch (Exception e) {
+            info.append("Error reading log files: ").append(e.getMessage()).append("\n");
+        }
+        
+        return info.toString();
+    }
+
+    // Export logs with metadata
+    public static void exportLogsWithMetadata(File output) throws IOException {
+        FileWriter writer = new FileWriter(output);
+        
+        // Write metadata header
+        writer.write("=== Terraria Loader Log Export ===\n");
+        writer.write("Export Date: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date()) + "\n");
+        writer.write("Total Logs: " + getLogCount() + "\n");
+        writer.write("Debug Logs: " + getDebugLogCount() + "\n");
+        writer.write("User Logs: " + getUserLogCount() + "\n");
+        writer.write("=====================================\n\n");
+        
+        // Write actual logs
+        writer.write(getLogs());
+        writer.close();
+    }
+    
+    // FIXED: Export all log files (including rotated ones)
+    public static boolean exportAllLogFiles(File exportDir) {
+        if (appContext == null || exportDir == null) return false;
+        
+        try {
+            if (!exportDir.exists()) {
+                exportDir.mkdirs();
+            }
+            
+            flushLogFile();
+            File appLogsDir = getAppLogsDir();
+            if (!appLogsDir.exists()) {
+                return false;
+            }
+            
+            int exportedCount = 0;
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
+            
+            // Export all log files
+            for (int i = 0; i <= MAX_LOG_FILES; i++) {
+                String fileName = i == 0 ? APP_LOG_PREFIX + ".txt" : APP_LOG_PREFIX + i + ".txt";
+                File sourceFile = new File(appLogsDir, fileName);
+                
+                if (sourceFile.exists() && sourceFile.length() > 0) {
+                    String exportFileName = "TerrariaLoader_" + fileName.replace(".txt", "_" + timestamp + ".txt");
+                    File exportFile = new File(exportDir, exportFileName);
+                    
+                    if (IoUtils.copyFile(sourceFile, exportFile)) {
+                        exportedCount++;
+                    }
+                }
+            }
+            
+            logUser("Exported " + exportedCount + " log files to: " + exportDir.getAbsolutePath());
+            return exportedCount > 0;
+            
+        } catch (Exception e) {
+            logDebug("Log export failed: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    // FIXED: Get available log files list
+    public static List<File> getAvailableLogFiles() {
+        List<File> logFiles = new ArrayList<>();
+        
+        if (appContext == null) return logFiles;
+        
+        try {
+            flushLogFile();
+            File appLogsDir = getAppLogsDir();
+            if (appLogsDir.exists()) {
+                for (int i = 0; i <= MAX_LOG_FILES; i++) {
+                    String fileName = i == 0 ? APP_LOG_PREFIX + ".txt" : APP_LOG_PREFIX + i + ".txt";
+                    File logFile = new File(appLogsDir, fileName);
+                    
+                    if (logFile.exists() && logFile.length() > 0) {
+                        logFiles.add(logFile);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Return empty list on error
+        }
+        
+        return logFiles;
+    }
+    
+    // FIXED: Read specific log file
+    public static String readLogFile(int logNumber) {
+        if (appContext == null) return "Context not available";
+        
+        try {
+            flushLogFile();
+            File appLogsDir = getAppLogsDir();
+            String fileName = logNumber == 0 ? APP_LOG_PREFIX + ".txt" : APP_LOG_PREFIX + logNumber + ".txt";
+            File logFile = new File(appLogsDir, fileName);
+            
+            if (!logFile.exists()) {
+                return "Log file " + fileName + " not found";
+            }
+            
+            StringBuilder content = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    content.append(line).append("\n");
+                }
+            }
+            
+            return content.toString();
+            
+        } catch (Exception e) {
+            return "Error reading log file: " + e.getMessage();
+        }
+    }
+
+    // Structured record files, newest first (AppLog.tlog, AppLog1.tlog, ...)
+    public static List<File> getStructuredLogFiles() {
+        List<File> files = new ArrayList<>();
+        if (appContext == null) return files;
+        
+        flushLogFile();
+        File appLogsDir = getAppLogsDir();
+        for (int i = 0; i <= MAX_LOG_FILES; i++) {
+            File recordFile = StructuredLogFile.recordFile(appLogsDir, i == 0 ? APP_LOG_PREFIX : APP_LOG_PREFIX + i);
+            if (recordFile.isFile()) {
+                files.add(recordFile);
+            }
+        }
+        return files;
+    }
+    
+    // True if AppLog{n}.txt has a structured twin, i.e. the viewer pages it from the .tlog
+    public static boolean hasStructuredLog(int logNumber) {
+        if (appContext == null) return false;
+        String baseName = logNumber == 0 ? APP_LOG_PREFIX : APP_LOG_PREFIX + logNumber;
+        return StructuredLogFile.recordFile(getAppLogsDir(), baseName).isFile();
+    }
+    
+    // FIXED: Initialize logs when app starts (NO auto-rotation, NO immediate file creation)
+    public static void initializeAppStartup() {
+        if (appContext == null) return;
+        
+        try {
+            // Just log startup - don't force any file operations
+            logUser("=== TerrariaLoader Started ===");
+            logUser("App Version: " + getAppVersion());
+            logUser("Android Version: " + android.os.Build.VERSION.RELEASE);
+            logUser("Device: " + android.os.Build.MANUFACTURER + " " + android.os.Build.MODEL);
+            logUser("Startup Time: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date()));
+            logUser("==============================");
+            
+            // FIXED: Don't save immediately - let natural auto-save handle it when there's enough content
+            
+        } catch (Exception e) {
+            // Silent fail
+        }
+    }
+    
+    private static String getAppVersion() {
+        try {
+            if (appContext != null) {
+                android.content.pm.PackageInfo pInfo = appContext.getPackageManager().getPackageInfo(appContext.getPackageName(), 0);
+                return pInfo.versionName;
+            }
+        } catch (Exception e) {
+            // Fall back to unknown
+        }
+        return "Unknown";
+    }
+    
+    // Helper method to format file size
+    private static String formatFileSize(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.getDefault(), "%.1f KB", bytes / 1024.0);
+        if (bytes < 1024 * 1024 * 1024) return String.format(Locale.getDefault(), "%.1f MB", bytes / (1024.0 * 1024.0));
+        return String.format(Locale.getDefault(), "%.1f GB", bytes / (1024.0 * 1024.0 * 1024.0));
+    }
+}
@@ -7,6 +7,8 @@ import android.app.Activity;
 import android.app.AlertDialog;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.text.SpannableString;
@@ -25,11 +27,11 @@ import com.terrarialoader.util.LogUtils;
 import com.terrarialoader.util.DiagnosticBundleExporter;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Enhanced LogViewerActivity with advanced filtering, categorization, and diagnostic export
@@ -58,8 +60,35 @@ public class LogViewerActivity extends AppCompatActivity {
     private boolean isRegexMode = false;
     private boolean isHighlightMode = true;
     private boolean showAdvancedFilters = false;
-    private List<LogEntry> allLogEntries = new ArrayList<>();
-    private List<LogEntry> filteredLogEntries = new ArrayList<>();
+    private LogFilter activeFilter = LogFilter.NONE;
+    private LogStore logStore = new LogStore();
+    private int loadedCount; // Ids below this are shown; the loader may already have stored more
+    private LogStore.IdList filteredIds = new LogStore.IdList(); // Only appended to once handed to the adapter
+
+    // Paged loading: newest entries first, older pages fetched while scrolling
+    private static final int PAGE_SIZE = 500;
+    private static final int PREFETCH_DISTANCE = 100;
+    private static final int MAX_LOADED_ENTRIES = 200000; // Columnar storage keeps this to a few dozen MB
+    private final ExecutorService logLoader = Executors.newSingleThreadExecutor();
+    private LogPageSource pageSource;
+    private LogSearchIndex searchIndex = new LogSearchIndex(logStore); // Same ids as logStore
+    private int loadGeneration;
+    private boolean pageLoading;
+
+    // Live tail of the game logs while the viewer is visible, shown above the loaded entries
+    private LogTailer gameLogTailer;
+    private LogStore liveStore = new LogStore();
+    private LogSearchIndex liveIndex = new LogSearchIndex(liveStore);
+    private int liveLoadedCount;
+    private LogStore.IdList filteredLiveIds = new LogStore.IdList();
+
+    // Background filtering: keystrokes are debounced, superseded passes stop early
+    private static final long FILTER_DEBOUNCE_MS = 250;
+    private static final int FILTER_CHUNK = 2000; // Entry ids between cancellation checks
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor();
+    private final Handler filterHandler = new Handler(Looper.getMainLooper());
+    private final Runnable applyFiltersTask = this::applyFilters;
+    private volatile int filterGeneration;
 
     // Filter types
     public enum LogFilterType {
@@ -112,8 +141,7 @@ public class LogViewerActivity extends AppCompatActivity {
         initializeViews();
         setupSpinners();
         setupListeners();
-        loadLogEntries();
-        applyFilters();
+        // Entries are loaded in onResume
     }
 
     private void initializeViews() {
@@ -134,6 +162,16 @@ public class LogViewerActivity extends AppCompatActivity {
         logRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         categoryAdapter = new LogCategoryAdapter(this);
         logRecyclerView.setAdapter(categoryAdapter);
+        logRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null &&
+                    layoutManager.findLastVisibleItemPosition() >= categoryAdapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
     private void setupSpinners() {
@@ -167,7 +205,7 @@ public class LogViewerActivity extends AppCompatActivity {
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
                 currentSearchQuery = s.toString();
-                applyFilters();
+                scheduleFilters();
             }
 
             @Override
@@ -191,7 +229,7 @@ public class LogViewerActivity extends AppCompatActivity {
             @Override
             public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
                 currentTimeRange = TimeRange.values()[position];
-                applyFilters();
+                loadLogEntries(); // Structured app logs are read from the range start only
             }
 
             @Override
@@ -208,8 +246,6 @@ public class LogViewerActivity extends AppCompatActivity {
         highlightModeSwitch.setOnCheckedChangeListener((buttonView, isChecked) -> {
             isHighlightMode = isChecked;
             categoryAdapter.setHighlightMode(isChecked);
-            categoryAdapter.setSearchQuery(currentSearchQuery);
-            categoryAdapter.notifyDataSetChanged();
         });
 
         // Export diagnostic bundle
@@ -222,77 +258,206 @@ public class LogViewerActivity extends AppCompatActivity {
         advancedFiltersToggle.setOnClickListener(v -> toggleAdvancedFilters());
     }
 
+    // Starts a new paged load: sources are opened off the main thread and the newest page is shown first
     private void loadLogEntries() {
         LogUtils.logDebug("Loading log entries for advanced viewer");
-        allLogEntries.clear();
+        final int generation = ++loadGeneration;
+        filterHandler.removeCallbacks(applyFiltersTask);
+        filterGeneration++; // Drops any filter pass over the old entries
+        activeFilter = compileFilter();
+        categoryAdapter.setFilter(activeFilter);
+        pageSource = null;
+        pageLoading = true;
+        final LogStore store = new LogStore();
+        final LogSearchIndex index = new LogSearchIndex(store);
+        logStore = store;
+        searchIndex = index;
+        loadedCount = 0;
+        showFilteredEntries(new LogStore.IdList());
+
+        stopTailing();
+        final LogStore live = new LogStore();
+        final LogSearchIndex liveIdx = new LogSearchIndex(live);
+        liveStore = live;
+        liveIndex = liveIdx;
+        liveLoadedCount = 0;
+        filteredLiveIds = new LogStore.IdList();
+        categoryAdapter.updateLiveEntries(liveStore, filteredLiveIds);
+
+        final long fromTime = currentTimeRange == TimeRange.ALL ? 0 :
+            System.currentTimeMillis() - currentTimeRange.getMilliseconds();
+        logLoader.execute(() -> {
+            LogPageSource source = new LogPageSource();
+            loadSystemLogs(source);
+            loadAppLogs(source, fromTime);
+            LogTailer tailer = loadGameLogs(source, entries -> {
+                // Tailer thread: store the appended lines, then show them
+                if (live.size() >= MAX_LOADED_ENTRIES) {
+                    return; // Same bound as loaded entries; reopen the viewer to see newer lines
+                }
+                liveIdx.add(live.add(entries), entries);
+                int count = entries.size();
+                runOnUiThread(() -> {
+                    if (generation == loadGeneration && !isFinishing()) {
+                        appendLiveEntries(count);
+                    }
+                });
+            });
+            List<LogEntry> firstPage = source.nextPage(PAGE_SIZE);
+            index.add(store.add(firstPage), firstPage); // The page objects are dropped once stored
+
+            runOnUiThread(() -> {
+                if (generation != loadGeneration || isFinishing()) {
+                    return;
+                }
+                pageSource = source;
+                if (tailer != null) {
+                    gameLogTailer = tailer;
+                    tailer.start();
+                }
+                appendPage(firstPage.size());
+                LogUtils.logUser("Loaded " + loadedCount + " recent log entries for advanced analysis");
+            });
+        });
+    }
+
+    // Fetches the next older page if one is available and none is in flight
+    private void loadNextPage() {
+        if (pageLoading || pageSource == null || !pageSource.hasMore() || loadedCount >= MAX_LOADED_ENTRIES) {
+            return;
+        }
+        pageLoading = true;
+        final int generation = loadGeneration;
+        final LogPageSource source = pageSource;
+        final LogStore store = logStore;
+        final LogSearchIndex index = searchIndex;
+        logLoader.execute(() -> {
+            List<LogEntry> page = source.nextPage(PAGE_SIZE);
+            index.add(store.add(page), page);
+            int count = page.size();
+            runOnUiThread(() -> {
+                if (generation == loadGeneration && !isFinishing()) {
+                    appendPage(count);
+                }
+            });
+        });
+    }
+
+    // Shows the next count stored entries
+    private void appendPage(int count) {
+        pageLoading = false;
+        int from = loadedCount;
+        loadedCount += count;
 
-        // Load different types of logs
-        loadAppLogs();
-        loadGameLogs();
-        loadSystemLogs();
+        // A page is small enough to filter here; a filter pass in flight picks it up on delivery
+        if (activeFilter.filterInto(logStore, null, from, loadedCount, filteredIds) > 0) {
+            categoryAdapter.updateEntries(logStore, filteredIds);
+        }
+        updateFilterStatus();
+        fillScreen();
+    }
+
+    // Shows the next count tailed entries at the top of the list
+    private void appendLiveEntries(int count) {
+        int from = liveLoadedCount;
+        liveLoadedCount += count;
+
+        if (activeFilter.filterInto(liveStore, null, from, liveLoadedCount, filteredLiveIds) > 0) {
+            LinearLayoutManager layoutManager = (LinearLayoutManager) logRecyclerView.getLayoutManager();
+            boolean atTop = layoutManager != null && layoutManager.findFirstVisibleItemPosition() <= 0;
+            categoryAdapter.updateLiveEntries(liveStore, filteredLiveIds);
+            if (atTop) {
+                logRecyclerView.scrollToPosition(0); // Follow the tail unless the user scrolled away
+            }
+        }
+        updateFilterStatus();
+    }
+
+    private void stopTailing() {
+        if (gameLogTailer != null) {
+            gameLogTailer.stop();
+            gameLogTailer = null;
+        }
+    }
 
-        LogUtils.logUser("Loaded " + allLogEntries.size() + " log entries for advanced analysis");
+    // Keeps loading while a narrow filter leaves too few rows to scroll
+    private void fillScreen() {
+        if (filteredIds.size() < PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
     }
 
-    private void loadAppLogs() {
+    private void loadAppLogs(LogPageSource source, long fromTime) {
         try {
-            // Load current app logs
-            String currentLogs = LogUtils.getLogs();
-            parseLogString(currentLogs, LogEntry.LogType.APP, "Current Session");
+            // Structured app logs carry real timestamps and are read backwards through their index
+            List<File> structuredLogs = LogUtils.getStructuredLogFiles();
+            if (!structuredLogs.isEmpty()) {
+                for (File recordFile : structuredLogs) {
+                    source.addStructuredLog(recordFile, fromTime);
+                }
+            } else {
+                // Not saving to files: only the current session is available
+                source.addText(LogUtils.getLogs(), LogEntry.LogType.APP, "Current Session");
+            }
 
-            // Load rotated app logs
+            // Text logs without a structured twin (written by older versions)
             List<File> logFiles = LogUtils.getAvailableLogFiles();
-            for (int i = 0; i < logFiles.size(); i++) {
-                File logFile = logFiles.get(i);
-                String content = LogUtils.readLogFile(i);
-                parseLogString(content, LogEntry.LogType.APP, logFile.getName());
+            for (File logFile : logFiles) {
+                String number = logFile.getName().replace("AppLog", "").replace(".txt", "");
+                int logNumber = number.isEmpty() ? 0 : Integer.parseInt(number);
+                if (!LogUtils.hasStructuredLog(logNumber)) {
+                    source.addTextLog(logFile, LogEntry.LogType.APP, logFile.getName());
+                }
             }
         } catch (Exception e) {
             LogUtils.logDebug("Error loading app logs: " + e.getMessage());
         }
     }
 
-    private void loadGameLogs() {
+    // Adds the game logs up to their current length and returns a tailer for what is appended later
+    private LogTailer loadGameLogs(LogPageSource source, LogTailer.Listener liveListener) {
         try {
             // Try to load MelonLoader game logs if available
             File gameLogsDir = new File(getExternalFilesDir(null), 
                 "TerrariaLoader/com.and.games505.TerrariaPaid/Logs");
             
             if (gameLogsDir.exists()) {
-                File[] gameLogFiles = gameLogsDir.listFiles((dir, name) -> 
-                    name.startsWith("Log") && name.endsWith(".txt"));
+                LogTailer tailer = new LogTailer(gameLogsDir, LogEntry.LogType.GAME, liveListener);
+                File[] gameLogFiles = gameLogsDir.listFiles((dir, name) -> LogTailer.isLogFile(name));
                 
                 if (gameLogFiles != null) {
+                    // Newest file first; each is read from its end
+                    java.util.Arrays.sort(gameLogFiles, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
                     for (File logFile : gameLogFiles) {
-                        try {
-                            String content = readFileContent(logFile);
-                            parseLogString(content, LogEntry.LogType.GAME, logFile.getName());
-                        } catch (Exception e) {
-                            LogUtils.logDebug("Error reading game log: " + logFile.getName());
-                        }
+                        long length = logFile.length(); // Paged reads stop here, the tailer starts here
+                        tailer.setStartOffset(logFile, length);
+                        source.addTextLog(logFile, LogEntry.LogType.GAME, logFile.getName(), length);
                     }
                 }
+                return tailer;
             }
         } catch (Exception e) {
             LogUtils.logDebug("Error loading game logs: " + e.getMessage());
         }
+        return null;
     }
 
-    private void loadSystemLogs() {
+    private void loadSystemLogs(LogPageSource source) {
+        List<LogEntry> systemEntries = new ArrayList<>();
         try {
             // Add system information as log entries
-            addSystemInfoEntry("Device", android.os.Build.MANUFACTURER + " " + android.os.Build.MODEL);
-            addSystemInfoEntry("Android Version", android.os.Build.VERSION.RELEASE);
-            addSystemInfoEntry("API Level", String.valueOf(android.os.Build.VERSION.SDK_INT));
-            addSystemInfoEntry("Architecture", System.getProperty("os.arch", "unknown"));
+            addSystemInfoEntry(systemEntries, "Device", android.os.Build.MANUFACTURER + " " + android.os.Build.MODEL);
+            addSystemInfoEntry(systemEntries, "Android Version", android.os.Build.VERSION.RELEASE);
+            addSystemInfoEntry(systemEntries, "API Level", String.valueOf(android.os.Build.VERSION.SDK_INT));
+            addSystemInfoEntry(systemEntries, "Architecture", System.getProperty("os.arch", "unknown"));
             
             // Add app information
             try {
                 android.content.pm.PackageInfo pInfo = getPackageManager().getPackageInfo(getPackageName(), 0);
-                addSystemInfoEntry("App Version", pInfo.versionName);
-                addSystemInfoEntry("Version Code", String.valueOf(pInfo.versionCode));
+                addSystemInfoEntry(systemEntries, "App Version", pInfo.versionName);
+                addSystemInfoEntry(systemEntries, "Version Code", String.valueOf(pInfo.versionCode));
             } catch (Exception e) {
-                addSystemInfoEntry("App Version", "Unknown");
+                addSystemInfoEntry(systemEntries, "App Version", "Unknown");
             }
 
             // Add storage information
@@ -300,16 +465,17 @@ public class LogViewerActivity extends AppCompatActivity {
             if (appDir != null) {
                 long totalSpace = appDir.getTotalSpace();
                 long freeSpace = appDir.getFreeSpace();
-                addSystemInfoEntry("Storage Total", formatFileSize(totalSpace));
-                addSystemInfoEntry("Storage Free", formatFileSize(freeSpace));
+                addSystemInfoEntry(systemEntries, "Storage Total", formatFileSize(totalSpace));
+                addSystemInfoEntry(systemEntries, "Storage Free", formatFileSize(freeSpace));
             }
 
         } catch (Exception e) {
             LogUtils.logDebug("Error loading system info: " + e.getMessage());
         }
+        source.addEntries(systemEntries, LogEntry.LogType.SYSTEM);
     }
 
-    private void addSystemInfoEntry(String key, String value) {
+    private void addSystemInfoEntry(List<LogEntry> entries, String key, String value) {
         LogEntry entry = new LogEntry(
             System.currentTimeMillis(),
             LogEntry.LogLevel.INFO,
@@ -317,160 +483,96 @@ public class LogViewerActivity extends AppCompatActivity {
             "SYSTEM",
             key + ": " + value
         );
-        allLogEntries.add(entry);
+        entries.add(entry);
     }
 
-    private String readFileContent(File file) throws IOException {
-        StringBuilder content = new StringBuilder();
-        try (java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append("\n");
-            }
-        }
-        return content.toString();
+    // Search typing: filter once the user pauses
+    private void scheduleFilters() {
+        filterHandler.removeCallbacks(applyFiltersTask);
+        filterHandler.postDelayed(applyFiltersTask, FILTER_DEBOUNCE_MS);
     }
 
-    private void parseLogString(String logString, LogEntry.LogType type, String source) {
-        if (logString == null || logString.trim().isEmpty()) {
-            return;
-        }
-
-        String[] lines = logString.split("\n");
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-
-            LogEntry entry = parseLogLine(line, type, source);
-            if (entry != null) {
-                allLogEntries.add(entry);
-            }
-        }
-    }
-
-    private LogEntry parseLogLine(String line, LogEntry.LogType type, String source) {
-        try {
-            // Try to parse timestamp and level from line
-            // Format: "HH:mm:ss [LEVEL] message" or similar
-            
-            long timestamp = System.currentTimeMillis(); // Default to now
-            LogEntry.LogLevel level = LogEntry.LogLevel.INFO; // Default level
-            String tag = source;
-            String message = line;
-
-            // Parse timestamp
-            if (line.matches("^\\d{2}:\\d{2}:\\d{2}.*")) {
-                // Extract timestamp (rough parsing)
-                String timeStr = line.substring(0, 8);
-                // For simplicity, use current date with parsed time
-                // In a real implementation, you'd want more sophisticated parsing
-            }
-
-            // Parse log level
-            if (line.contains("[DEBUG]")) {
-                level = LogEntry.LogLevel.DEBUG;
-                message = line.replaceFirst(".*\\[DEBUG\\]\\s*", "");
-            } else if (line.contains("[ERROR]") || line.toLowerCase().contains("error")) {
-                level = LogEntry.LogLevel.ERROR;
-                message = line.replaceFirst(".*\\[ERROR\\]\\s*", "");
-            } else if (line.contains("[WARN]") || line.toLowerCase().contains("warning")) {
-                level = LogEntry.LogLevel.WARN;
-                message = line.replaceFirst(".*\\[WARN\\]\\s*", "");
-            } else if (line.contains("[USER]")) {
-                level = LogEntry.LogLevel.INFO;
-                message = line.replaceFirst(".*\\[USER\\]\\s*", "");
-                tag = "USER";
+    // Filters the loaded entries through the search index on the filter thread; a newer call cancels this one
+    private void applyFilters() {
+        filterHandler.removeCallbacks(applyFiltersTask);
+        final LogFilter filter = compileFilter();
+        activeFilter = filter;
+        final int generation = ++filterGeneration;
+        final LogStore store = logStore;
+        final LogSearchIndex index = searchIndex;
+        final int loaded = loadedCount; // The store may already hold pages not shown yet
+        final LogStore live = liveStore;
+        final LogSearchIndex liveIdx = liveIndex;
+        final int liveLoaded = liveLoadedCount;
+
+        filterExecutor.execute(() -> {
+            LogStore.IdList matches = filterStore(filter, store, index, loaded, generation);
+            LogStore.IdList liveMatches = matches != null ? filterStore(filter, live, liveIdx, liveLoaded, generation) : null;
+            if (liveMatches == null) {
+                return; // Superseded by a newer query or a reload
             }
 
-            return new LogEntry(timestamp, level, type, tag, message);
-            
-        } catch (Exception e) {
-            // Fallback: create basic entry
-            return new LogEntry(
-                System.currentTimeMillis(),
-                LogEntry.LogLevel.INFO,
-                type,
-                source,
-                line
-            );
-        }
+            runOnUiThread(() -> {
+                if (generation != filterGeneration || isFinishing()) {
+                    return;
+                }
+                // Pages and tailed lines that arrived while filtering
+                if (loadedCount > loaded) {
+                    filter.filterInto(logStore, null, loaded, loadedCount, matches);
+                }
+                if (liveLoadedCount > liveLoaded) {
+                    filter.filterInto(liveStore, null, liveLoaded, liveLoadedCount, liveMatches);
+                }
+                categoryAdapter.setFilter(filter);
+                filteredLiveIds = liveMatches;
+                categoryAdapter.updateLiveEntries(liveStore, liveMatches);
+                showFilteredEntries(matches);
+            });
+        });
     }
 
-    private void applyFilters() {
-        filteredLogEntries.clear();
-        
-        long currentTime = System.currentTimeMillis();
-        long timeThreshold = currentTime - currentTimeRange.getMilliseconds();
-
-        for (LogEntry entry : allLogEntries) {
-            if (!passesFilters(entry, timeThreshold)) {
-                continue;
+    // Filter thread: the ids below count that pass filter, or null once a newer pass started
+    private LogStore.IdList filterStore(LogFilter filter, LogStore store, LogSearchIndex index, int count, int generation) {
+        BitSet candidates = filter.candidates(index, count);
+        LogStore.IdList matches = new LogStore.IdList(candidates.cardinality());
+        for (int start = 0; start < count; start += FILTER_CHUNK) {
+            if (generation != filterGeneration) {
+                return null;
             }
-            filteredLogEntries.add(entry);
+            filter.filterInto(store, candidates, start, Math.min(count, start + FILTER_CHUNK), matches);
         }
+        return matches;
+    }
 
-        // Update UI
-        categoryAdapter.updateEntries(filteredLogEntries);
+    // Hands a new result list to the adapter, which diffs it against the shown rows
+    private void showFilteredEntries(LogStore.IdList ids) {
+        filteredIds = ids;
+        categoryAdapter.updateEntries(logStore, ids);
         updateFilterStatus();
+        fillScreen();
     }
 
-    private boolean passesFilters(LogEntry entry, long timeThreshold) {
-        // Time range filter
-        if (currentTimeRange != TimeRange.ALL && entry.getTimestamp() < timeThreshold) {
-            return false;
-        }
-
-        // Category filter
-        if (currentFilterType != LogFilterType.ALL) {
-            String keywords = currentFilterType.getKeywords();
-            if (!keywords.isEmpty()) {
-                String message = entry.getMessage().toLowerCase();
-                String[] keywordArray = keywords.split("\\|");
-                boolean matchesKeyword = false;
-                for (String keyword : keywordArray) {
-                    if (message.contains(keyword.toLowerCase())) {
-                        matchesKeyword = true;
-                        break;
-                    }
-                }
-                if (!matchesKeyword) {
-                    return false;
-                }
-            }
-        }
-
-        // Search query filter
-        if (!currentSearchQuery.trim().isEmpty()) {
-            String searchText = currentSearchQuery.toLowerCase();
-            String message = entry.getMessage().toLowerCase();
-            String tag = entry.getTag().toLowerCase();
-
-            if (isRegexMode) {
-                try {
-                    Pattern pattern = Pattern.compile(currentSearchQuery, Pattern.CASE_INSENSITIVE);
-                    if (!pattern.matcher(message).find() && !pattern.matcher(tag).find()) {
-                        return false;
-                    }
-                } catch (PatternSyntaxException e) {
-                    // Fall back to simple text search if regex is invalid
-                    if (!message.contains(searchText) && !tag.contains(searchText)) {
-                        return false;
-                    }
-                }
-            } else {
-                if (!message.contains(searchText) && !tag.contains(searchText)) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+    // Compiles the current filter state once; used for every entry until the state changes
+    private LogFilter compileFilter() {
+        long fromTime = currentTimeRange == TimeRange.ALL ? Long.MIN_VALUE :
+            System.currentTimeMillis() - currentTimeRange.getMilliseconds();
+        return new LogFilter(fromTime, currentFilterType.getKeywords(), currentSearchQuery, isRegexMode);
     }
 
     private void updateFilterStatus() {
-        int totalCount = allLogEntries.size();
-        int filteredCount = filteredLogEntries.size();
+        int totalCount = loadedCount + liveLoadedCount;
+        int filteredCount = filteredIds.size() + filteredLiveIds.size();
         
-        logCountText.setText(String.format("Showing %d of %d entries", filteredCount, totalCount));
+        String loadState = "";
+        if (loadedCount >= MAX_LOADED_ENTRIES) {
+            loadState = " (newest " + MAX_LOADED_ENTRIES + " loaded)";
+        } else if (pageSource == null || pageSource.hasMore()) {
+            loadState = " (scroll for older)";
+        }
+        if (gameLogTailer != null) {
+            loadState += " • following game log";
+        }
+        logCountText.setText(String.format("Showing %d of %d entries%s", filteredCount, totalCount, loadState));
         
         StringBuilder status = new StringBuilder();
         if (currentFilterType != LogFilterType.ALL) {
@@ -481,7 +583,7 @@ public class LogViewerActivity extends AppCompatActivity {
         }
         if (!currentSearchQuery.trim().isEmpty()) {
             status.append("Search: '").append(currentSearchQuery).append("'");
-            if (isRegexMode) status.append(" (regex)");
+            if (isRegexMode) status.append(activeFilter.isInvalidRegex() ? " (invalid regex, plain text)" : " (regex)");
             status.append(" • ");
         }
         
@@ -624,12 +726,15 @@ public class LogViewerActivity extends AppCompatActivity {
             try (java.io.FileWriter writer = new java.io.FileWriter(exportFile)) {
                 writer.write("=== TerrariaLoader Filtered Logs Export ===\n");
                 writer.write("Export Date: " + new java.util.Date().toString() + "\n");
-                writer.write("Total Entries: " + filteredLogEntries.size() + "\n");
+                writer.write("Total Entries: " + (filteredLiveIds.size() + filteredIds.size()) + "\n");
                 writer.write("Filters Applied: " + filterStatusText.getText() + "\n");
                 writer.write("=" + "=".repeat(50) + "\n\n");
 
-                for (LogEntry entry : filteredLogEntries) {
-                    writer.write(entry.toFormattedString() + "\n");
+                for (int i = filteredLiveIds.size() - 1; i >= 0; i--) {
+                    writer.write(liveStore.get(filteredLiveIds.get(i)).toFormattedString() + "\n");
+                }
+                for (int i = 0; i < filteredIds.size(); i++) {
+                    writer.write(logStore.get(filteredIds.get(i)).toFormattedString() + "\n");
                 }
             }
 
@@ -654,10 +759,26 @@ public class LogViewerActivity extends AppCompatActivity {
 
     private void refreshLogs() {
         loadLogEntries();
-        applyFilters();
         Toast.makeText(this, "Logs refreshed", Toast.LENGTH_SHORT).show();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        loadGeneration++;
+        filterGeneration++;
+        filterHandler.removeCallbacks(applyFiltersTask);
+        stopTailing();
+        logLoader.shutdownNow();
+        filterExecutor.shutdownNow();
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        stopTailing(); // Tailing restarts with the reload in onResume
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -1,6 +1,8 @@
 package com.loader;
 
+import android.app.Activity;
 import android.app.Application;
+import android.os.Bundle;
 import android.util.Log;
 import com.terrarialoader.loader.ModManager;
 import java.io.*;
@@ -11,9 +13,29 @@ public class MainLoader extends Application {
         super.onCreate();
         Log.i("LoaderDex", "MainLoader has started in Terraria");
 
-        if (shouldEnableMods()) {
-            ModManager.loadMods(getApplicationContext());
-        }
+        // config.txt check, scan and dependency resolution run in the background;
+        // mods are loaded on the main thread once preparation is done
+        registerFirstFrameCallback();
+        ModManager.loadModsAsync(getApplicationContext(), this::shouldEnableMods, (timeline, modsLoaded) ->
+            Log.i("LoaderDex", "Mod bootstrap finished (mods loaded: " + modsLoaded + ")\n" + timeline.format()));
+    }
+
+    // Notify ModManager once the first activity has drawn, so lazily activated mods can load
+    private void registerFirstFrameCallback() {
+        registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityResumed(Activity activity) {
+                unregisterActivityLifecycleCallbacks(this);
+                activity.getWindow().getDecorView().post(() -> ModManager.onFirstFrame(getApplicationContext()));
+            }
+
+            @Override public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+            @Override public void onActivityStarted(Activity activity) {}
+            @Override public void onActivityPaused(Activity activity) {}
+            @Override public void onActivityStopped(Activity activity) {}
+            @Override public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+            @Override public void onActivityDestroyed(Activity activity) {}
+        });
     }
 
     private boolean shouldEnableMods() {
@@ -31,4 +53,4 @@ public class MainLoader extends Application {
         }
         return false;
     }
-}
\ No newline at end of file
+}
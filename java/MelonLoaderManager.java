@@ -160,6 +160,18 @@ public class MelonLoaderManager {
         return fileManager.backupMods(context, gamePackage);
     }
 
+    public static List<String> listBackups(Context context, String gamePackage) {
+        return fileManager.listBackups(context, gamePackage);
+    }
+
+    public static List<String> listBackupEntries(Context context, String gamePackage, String snapshotName) {
+        return fileManager.listBackupEntries(context, gamePackage, snapshotName);
+    }
+
+    public static boolean restoreFromBackup(Context context, String gamePackage, String snapshotName, String relativePath) {
+        return fileManager.restoreFromBackup(context, gamePackage, snapshotName, relativePath);
+    }
+
     // === VALIDATION ===
     public static boolean validateDllMod(File dllFile) {
         return validator.validateDllMod(dllFile);
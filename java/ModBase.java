@@ -6,6 +6,8 @@ package com.terrarialoader.loader;
 import android.content.Context;
 
 public interface ModBase {
+    // Runs on the thread that loads the mod, timed against the watchdog budget (loadTimeoutMs in mod.json).
+    // Mods with "loadOnWorkerThread": true run it on a loader worker thread instead and must not touch UI here
     void onLoad(Context context);
     
     // Optional metadata methods (Phase 1 features preserved)
@@ -93,6 +95,21 @@ public interface ModBase {
         return new String[0]; // Harmony patch classes
     }
     
+    // Lazy activation support (honored when lazy activation is enabled in settings).
+    // The loader cannot ask an unloaded class for these, so mods should also declare
+    // the same values in the "activation" block of their mod.json.
+    default ActivationTrigger getActivationTrigger() {
+        return ActivationTrigger.IMMEDIATE; // Load during startup by default
+    }
+    
+    default String getActivationEvent() {
+        return null; // Event name for ActivationTrigger.EVENT
+    }
+    
+    default long getActivationDelayMs() {
+        return 0; // Delay after first frame for ActivationTrigger.FIRST_FRAME
+    }
+    
     // Mod type enumeration
     enum ModType {
         DEX("Java/Android DEX", ".dex"),
@@ -124,4 +141,34 @@ public interface ModBase {
             return DEX; // Default
         }
     }
+    
+    // Activation trigger enumeration
+    enum ActivationTrigger {
+        IMMEDIATE("immediate", "Load at startup"),
+        FIRST_ACCESS("first_access", "Load on first access"),
+        EVENT("event", "Load on named event"),
+        FIRST_FRAME("first_frame", "Load after first frame");
+        
+        private final String key;
+        private final String displayName;
+        
+        ActivationTrigger(String key, String displayName) {
+            this.key = key;
+            this.displayName = displayName;
+        }
+        
+        public String getKey() { return key; }
+        public String getDisplayName() { return displayName; }
+        
+        public static ActivationTrigger fromKey(String key) {
+            if (key != null) {
+                for (ActivationTrigger trigger : values()) {
+                    if (trigger.key.equalsIgnoreCase(key.trim())) {
+                        return trigger;
+                    }
+                }
+            }
+            return IMMEDIATE; // Default
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+// File: ModBootstrap.java (Component) - Asynchronous mod startup
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/ModBootstrap.java
+
+package com.terrarialoader.loader;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.terrarialoader.util.LogUtils;
+import com.terrarialoader.util.PathManager;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs mod startup off the Application.onCreate thread.
+ *
+ * Background executor: config check, migration + directory preparation,
+ * mod scan, dependency resolution, and the I/O half of the load (DLL deploy
+ * and validation, DEX class loaders). Handoff: the immutable PreparedLoad is
+ * posted to the main thread, where ModLoader only instantiates mods and calls
+ * onLoad. Every phase is recorded in a StartupTimeline.
+ */
+public class ModBootstrap {
+    private static final String TAG = "ModBootstrap";
+
+    public static final String PHASE_CONFIG = "config";
+    public static final String PHASE_PREPARE = "prepare";
+    public static final String PHASE_SCAN = "scan";
+    public static final String PHASE_RESOLVE = "resolve";
+    public static final String PHASE_DEPLOY = "deploy";
+    public static final String PHASE_HANDOFF = "handoff";
+    public static final String PHASE_LOAD = "load";
+
+    public interface BootstrapListener {
+        // Called on the main thread once mods are loaded (or the bootstrap was skipped/failed)
+        void onBootstrapComplete(StartupTimeline timeline, boolean modsLoaded);
+    }
+
+    public enum State { IDLE, RUNNING, COMPLETED, SKIPPED, FAILED }
+
+    private final ModLoader modLoader;
+    private final ModRepository modRepository;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ModBootstrap");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private volatile State state = State.IDLE;
+    private volatile StartupTimeline timeline;
+
+    public ModBootstrap(ModLoader modLoader, ModRepository modRepository) {
+        this.modLoader = modLoader;
+        this.modRepository = modRepository;
+    }
+
+    /**
+     * Start the bootstrap. Returns immediately; the listener is notified on the main thread.
+     * @param enabledCheck optional gate evaluated on the background thread (e.g. reading config.txt)
+     */
+    public synchronized boolean start(Context context, Callable<Boolean> enabledCheck, BootstrapListener listener) {
+        if (context == null) {
+            return false;
+        }
+        if (state == State.RUNNING) {
+            LogUtils.logDebug("Mod bootstrap already running");
+            return false;
+        }
+
+        final Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        final StartupTimeline currentTimeline = new StartupTimeline();
+        timeline = currentTimeline;
+        state = State.RUNNING;
+
+        executor.execute(() -> runBackgroundPhases(appContext, currentTimeline, enabledCheck, listener));
+        return true;
+    }
+
+    private void runBackgroundPhases(Context context, StartupTimeline timeline,
+                                     Callable<Boolean> enabledCheck, BootstrapListener listener) {
+        try {
+            long phase = timeline.begin();
+            boolean enabled = enabledCheck == null || Boolean.TRUE.equals(enabledCheck.call());
+            timeline.end(PHASE_CONFIG, phase);
+            if (!enabled) {
+                finish(State.SKIPPED, timeline, false, listener);
+                return;
+            }
+
+            phase = timeline.begin();
+            if (PathManager.needsMigration(context)) {
+                PathManager.migrateLegacyStructure(context);
+            }
+            PathManager.initializeGameDirectories(context, MelonLoaderManager.TERRARIA_PACKAGE);
+            timeline.end(PHASE_PREPARE, phase);
+
+            phase = timeline.begin();
+            modRepository.scanForMods(context);
+            final List<File> availableMods = modRepository.getAvailableMods();
+            timeline.end(PHASE_SCAN, phase);
+
+            phase = timeline.begin();
+            final List<ModMetadata> sortedMods = modRepository.resolveDependencies();
+            timeline.end(PHASE_RESOLVE, phase);
+
+            phase = timeline.begin();
+            final ModLoader.PreparedLoad prepared = modLoader.prepareMods(context, availableMods, sortedMods);
+            timeline.end(PHASE_DEPLOY, phase);
+
+            // Handoff: mod classes are instantiated and onLoad runs on the main thread
+            final long handoff = timeline.begin();
+            mainHandler.post(() -> {
+                timeline.end(PHASE_HANDOFF, handoff);
+                try {
+                    long load = timeline.begin();
+                    modLoader.activatePreparedMods(context, prepared);
+                    timeline.end(PHASE_LOAD, load);
+                    finish(State.COMPLETED, timeline, true, listener);
+                } catch (Exception e) {
+                    fail(e, timeline, listener);
+                }
+            });
+
+        } catch (Exception e) {
+            fail(e, timeline, listener);
+        }
+    }
+
+    private void fail(Exception e, StartupTimeline timeline, BootstrapListener listener) {
+        String errorMsg = "Mod bootstrap failed: " + e.getMessage();
+        LogUtils.logDebug(errorMsg);
+        Log.e(TAG, errorMsg, e);
+        finish(State.FAILED, timeline, false, listener);
+    }
+
+    private void finish(State finalState, StartupTimeline timeline, boolean modsLoaded, BootstrapListener listener) {
+        state = finalState;
+        LogUtils.logDebug("Mod bootstrap " + finalState.name().toLowerCase() + "\n" + timeline.format());
+
+        if (listener == null) {
+            return;
+        }
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            listener.onBootstrapComplete(timeline, modsLoaded);
+        } else {
+            mainHandler.post(() -> listener.onBootstrapComplete(timeline, modsLoaded));
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isComplete() {
+        return state == State.COMPLETED || state == State.SKIPPED || state == State.FAILED;
+    }
+
+    public StartupTimeline getTimeline() {
+        return timeline;
+    }
+}
@@ -4,12 +4,19 @@
 package com.terrarialoader.loader;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import com.terrarialoader.util.ContentStore;
+import com.terrarialoader.util.FileUtils;
 import com.terrarialoader.util.LogUtils;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ModController {
     private ModLoader modLoader;
     private ModRepository modRepository;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     public ModController() {
         this.modLoader = new ModLoader();
@@ -168,41 +175,78 @@ public class ModController {
         return false;
     }
 
-    // Create backup before mod operations
+    // Create backup before mod operations; the result may be a ContentStore .ref file,
+    // so restore it with ContentStore.restore rather than copying it
     public File createModBackup(File modFile) {
         if (!modFile.exists()) {
             return null;
         }
+        return FileUtils.createBackup(modFile);
+    }
 
-        try {
-            String backupName = modFile.getName() + ".backup." + System.currentTimeMillis();
-            File backupFile = new File(modFile.getParentFile(), backupName);
-
-            java.io.FileInputStream in = new java.io.FileInputStream(modFile);
-            java.io.FileOutputStream out = new java.io.FileOutputStream(backupFile);
-
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                out.write(buffer, 0, bytesRead);
-            }
+    // Refresh mods after changes
+    public void refreshMods(Context context) {
+        modRepository.scanForMods(context);
+        modLoader.loadMods(context, modRepository.getAvailableMods(), modRepository);
+    }
 
-            in.close();
-            out.close();
+    /**
+     * Hot reload: rescan incrementally and reload only the DEX/JAR mods whose files changed.
+     * The rescan and the new class loaders are prepared on the calling thread (ModWatcher calls
+     * this from its background thread); unloading the old instances and onLoad of the new ones
+     * run on the main thread.
+     * @return number of changed DEX/JAR mods being reloaded
+     */
+    public int hotReloadChangedMods(Context context) {
+        if (context == null) {
+            return 0;
+        }
 
-            LogUtils.logDebug("Created backup: " + backupName);
-            return backupFile;
+        ModRepository.ScanDelta delta = modRepository.rescanChanged(context);
+        if (delta.isEmpty()) {
+            LogUtils.logDebug("Hot reload: no mod files changed");
+            return 0;
+        }
 
-        } catch (Exception e) {
-            LogUtils.logDebug("Failed to create backup: " + e.getMessage());
-            return null;
+        List<ModMetadata> changed = new ArrayList<>(delta.getChanged());
+        changed.addAll(delta.getAdded());
+        List<String> previousNames = new ArrayList<>();
+        List<ModLoader.PreparedMod> prepared = new ArrayList<>();
+        for (ModMetadata metadata : changed) {
+            ModBase.ModType type = metadata.getModType();
+            if (type == ModBase.ModType.DEX || type == ModBase.ModType.JAR) {
+                previousNames.add(delta.getPreviousName(metadata));
+                prepared.add(modLoader.prepareReload(context, metadata));
+            } else {
+                LogUtils.logDebug("Changed " + type.getDisplayName() + " mod takes effect on next game start: " + metadata.getName());
+            }
         }
+
+        List<String> removedNames = delta.getRemovedNames();
+        String summary = delta.toString();
+        runOnMainThread(() -> {
+            for (String removedName : removedNames) {
+                if (modLoader.unloadDexMod(removedName)) {
+                    LogUtils.logUser("Unloaded removed mod: " + removedName);
+                }
+            }
+            int reloaded = 0;
+            for (int i = 0; i < prepared.size(); i++) {
+                if (modLoader.applyReload(context, previousNames.get(i), prepared.get(i))) {
+                    reloaded++;
+                }
+            }
+            LogUtils.logUser("Hot reload complete: " + reloaded + " mods reloaded (" + summary + ")");
+        });
+        return prepared.size();
     }
 
-    // Refresh mods after changes
-    public void refreshMods(Context context) {
-        modRepository.scanForMods(context);
-        modLoader.loadMods(context, modRepository.getAvailableMods(), modRepository);
+    private void runOnMainThread(Runnable task) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            task.run();
+        } else {
+            mainHandler.post(task);
+        }
     }
 
     // Status checks
@@ -278,21 +322,21 @@ public class ModController {
         } catch (Exception e) {
             LogUtils.logDebug("Mod repair failed: " + e.getMessage());
             
-            // Restore from backup if repair failed
-            try {
-                java.nio.file.Files.copy(backup.toPath(), modFile.toPath(), 
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            // Restore from backup if repair failed; the backup may be a .ref to the content store
+            if (ContentStore.forDirectory(modFile.getParentFile()).restore(backup, modFile)) {
                 LogUtils.logDebug("Restored from backup after failed repair");
-            } catch (Exception restoreError) {
-                LogUtils.logDebug("Failed to restore from backup: " + restoreError.getMessage());
+            } else {
+                LogUtils.logDebug("Failed to restore from backup: " + backup.getName());
             }
             
             return false;
         } finally {
-            // Clean up backup
+            // Clean up backup; its stored object is pruned once past the grace period, by this
+            // call on a later repair or by the next install into the directory
             if (backup.exists()) {
                 backup.delete();
             }
+            ContentStore.forDirectory(modFile.getParentFile()).prune(modFile.getParentFile());
         }
     }
 
@@ -5,11 +5,23 @@ package com.terrarialoader.installer;
 
 import android.content.Context;
 import android.net.Uri;
+import com.terrarialoader.util.ContentStore;
 import com.terrarialoader.util.FileUtils;
+import com.terrarialoader.util.IoUtils;
 import com.terrarialoader.util.LogUtils;
 import com.terrarialoader.util.PathManager;
+import com.terrarialoader.loader.DexValidator;
+import com.terrarialoader.loader.DllAssemblyInfo;
 import com.terrarialoader.loader.ModManager;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ModInstaller {
     // Enhanced file extension whitelist
@@ -19,24 +31,37 @@ public class ModInstaller {
     
     // Maximum file size (50MB)
     private static final long MAX_MOD_SIZE = 50 * 1024 * 1024;
+    
+    // Concurrent copies in a batch install (bounded by storage, not CPU)
+    private static final int BATCH_INSTALL_THREADS = 4;
 
     public static boolean installMod(Context context, Uri sourceUri, String filename) {
+        InstallResult result = installModInternal(context, sourceUri, filename);
+        if (result.isChanged()) {
+            // Refresh mod list
+            ModManager.loadMods(context);
+        }
+        return result.isSuccess();
+    }
+
+    // Copy + validate only; callers decide when to refresh the mod list
+    private static InstallResult installModInternal(Context context, Uri sourceUri, String filename) {
         LogUtils.logUser("Starting mod installation: " + filename);
         
         // Enhanced input validation
         if (context == null) {
             LogUtils.logUser("❌ Installation failed: context is null");
-            return false;
+            return InstallResult.failed(filename, "context is null");
         }
         
         if (sourceUri == null) {
             LogUtils.logUser("❌ Installation failed: source URI is null");
-            return false;
+            return InstallResult.failed(filename, "source URI is null");
         }
         
         if (filename == null || filename.trim().isEmpty()) {
             LogUtils.logUser("❌ Installation failed: filename is invalid");
-            return false;
+            return InstallResult.failed(filename, "filename is invalid");
         }
 
         // Sanitize filename
@@ -46,74 +71,79 @@ public class ModInstaller {
         if (!isValidModFile(filename)) {
             LogUtils.logUser("❌ Invalid mod file type: " + filename);
             LogUtils.logDebug("Allowed extensions: " + String.join(", ", ALLOWED_EXTENSIONS));
-            return false;
+            return InstallResult.failed(filename, "invalid mod file type");
         }
 
         // FIXED: Determine mod directory based on file type using new structure
         File modDir = getModDirectoryByType(context, filename);
         if (modDir == null) {
             LogUtils.logUser("❌ Cannot determine mod directory for file type");
-            return false;
+            return InstallResult.failed(filename, "unknown mod directory");
         }
 
         // Ensure mod directory exists
         if (!PathManager.ensureDirectoryExists(modDir)) {
             LogUtils.logUser("❌ Cannot create mod directory: " + modDir.getAbsolutePath());
-            return false;
+            return InstallResult.failed(filename, "cannot create mod directory");
         }
 
-        // Check for existing mod with same name
+        // Install the mod into a staging file next to it: one read of the URI - size limit,
+        // SHA-256 and structure checks run on the copy stream. The installed mod is untouched until
+        // the new content has passed and, if it replaces something different, has been backed up
         File outputFile = new File(modDir, filename);
+        File stagingFile = new File(modDir, filename + ".new.tmp");
+        FileUtils.CopyResult copy = FileUtils.copyUriToFileVerified(context, sourceUri, stagingFile,
+                                                                     MAX_MOD_SIZE, new ModStreamInspector(filename));
+        if (!copy.isSuccess()) {
+            LogUtils.logUser("❌ Failed to install " + filename + ": " + copy.getError());
+            return InstallResult.failed(filename, copy.getError());
+        }
+
         if (outputFile.exists()) {
             LogUtils.logUser("⚠️ Mod already exists: " + filename);
-            // Create backup of existing mod
-            File backupFile = new File(modDir, filename + ".backup." + System.currentTimeMillis());
-            if (outputFile.renameTo(backupFile)) {
-                LogUtils.logUser("📦 Created backup: " + backupFile.getName());
+            String existingHash;
+            try {
+                existingHash = IoUtils.sha256Hex(outputFile);
+            } catch (Exception e) {
+                existingHash = null;
             }
-        }
-
-        // Validate file size before copying
-        try {
-            long fileSize = context.getContentResolver().openInputStream(sourceUri).available();
-            if (fileSize > MAX_MOD_SIZE) {
-                LogUtils.logUser("❌ Mod file too large: " + formatFileSize(fileSize) + " (max: " + formatFileSize(MAX_MOD_SIZE) + ")");
-                return false;
+            if (copy.getSha256().equals(existingHash)) {
+                stagingFile.delete();
+                LogUtils.logUser("ℹ️ " + filename + " is identical to the installed copy - nothing changed");
+                return InstallResult.unchanged(filename, outputFile, copy.getSha256());
             }
-            LogUtils.logDebug("Mod file size: " + formatFileSize(fileSize));
-        } catch (Exception e) {
-            LogUtils.logDebug("Could not determine file size: " + e.getMessage());
-        }
-
-        // Install the mod
-        boolean success = FileUtils.copyUriToFile(context, sourceUri, outputFile);
-        
-        if (success) {
-            // Validate the copied file
-            if (validateInstalledMod(outputFile)) {
-                LogUtils.logUser("✅ Successfully installed: " + filename);
-                LogUtils.logUser("📁 Location: " + outputFile.getAbsolutePath());
-                
-                // Auto-enable mod if it was installed with .disabled extension and user wants it enabled
-                if (filename.endsWith(".disabled")) {
-                    LogUtils.logUser("ℹ️ Mod installed as disabled. Enable it in mod manager to use.");
-                } else {
-                    LogUtils.logUser("ℹ️ Mod installed and ready to use.");
-                }
-                
-                // Refresh mod list
-                ModManager.loadMods(context);
-                
-                return true;
-            } else {
-                LogUtils.logUser("❌ Installed mod file validation failed");
-                outputFile.delete(); // Clean up invalid file
-                return false;
+
+            // The existing content goes into the mod directory's content store (written once per
+            // unique content) so the backup is a reference instead of a copy
+            ContentStore store = ContentStore.forDirectory(modDir);
+            File backupFile = existingHash == null ? null : store.createBackup(
+                    outputFile, new File(modDir, filename + ".backup." + System.currentTimeMillis()), existingHash);
+            if (backupFile == null) {
+                stagingFile.delete();
+                LogUtils.logUser("❌ Failed to install " + filename + ": could not back up the installed copy");
+                return InstallResult.failed(filename, "cannot back up existing mod");
             }
+            LogUtils.logUser("📦 Created backup: " + backupFile.getName());
+            store.prune(modDir); // Objects of backups deleted since the last replace
+        }
+
+        if (!stagingFile.renameTo(outputFile)) {
+            stagingFile.delete();
+            LogUtils.logUser("❌ Failed to install " + filename + ": cannot move file into place");
+            return InstallResult.failed(filename, "cannot move file into place");
+        }
+        LogUtils.logDebug("Mod file size: " + formatFileSize(copy.getSize()));
+        LogUtils.logUser("✅ Successfully installed: " + filename);
+        LogUtils.logUser("📁 Location: " + outputFile.getAbsolutePath());
+        
+        // Auto-enable mod if it was installed with .disabled extension and user wants it enabled
+        if (filename.endsWith(".disabled")) {
+            LogUtils.logUser("ℹ️ Mod installed as disabled. Enable it in mod manager to use.");
         } else {
-            LogUtils.logUser("❌ Failed to install: " + filename);
-            return false;
+            LogUtils.logUser("ℹ️ Mod installed and ready to use.");
         }
+        
+        return InstallResult.installed(filename, outputFile, copy.getSha256());
     }
 
     /**
@@ -162,16 +192,129 @@ public class ModInstaller {
         }
         
         int successCount = 0;
+        for (InstallResult result : installModsBatch(context, sourceUris, filenames)) {
+            if (result.isSuccess()) {
+                successCount++;
+            }
+        }
+        return successCount;
+    }
+
+    /**
+     * Copies and validates mods on a small worker pool, then refreshes the mod list
+     * once. Results are returned in input order.
+     */
+    public static List<InstallResult> installModsBatch(Context context, Uri[] sourceUris, String[] filenames) {
+        List<InstallResult> results = new ArrayList<>();
+        if (context == null || sourceUris == null || filenames == null || sourceUris.length != filenames.length) {
+            LogUtils.logUser("❌ Batch install failed: invalid parameters");
+            return results;
+        }
+
         LogUtils.logUser("Starting batch installation of " + sourceUris.length + " mods");
-        
-        for (int i = 0; i < sourceUris.length; i++) {
-            if (installMod(context, sourceUris[i], filenames[i])) {
+        int threads = Math.max(1, Math.min(BATCH_INSTALL_THREADS, sourceUris.length));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<InstallResult>> futures = new ArrayList<>();
+        Set<String> targetNames = new HashSet<>();
+
+        try {
+            for (int i = 0; i < sourceUris.length; i++) {
+                final Uri uri = sourceUris[i];
+                final String filename = filenames[i];
+
+                // Two entries writing the same target file would race on the backup/rename
+                String target = filename != null ? sanitizeFilename(filename) : null;
+                if (target != null && !targetNames.add(target)) {
+                    futures.add(null);
+                    continue;
+                }
+                futures.add(executor.submit(() -> installModInternal(context, uri, filename)));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Future<InstallResult> future = futures.get(i);
+                if (future == null) {
+                    results.add(InstallResult.failed(filenames[i], "duplicate of another mod in this batch"));
+                    continue;
+                }
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    results.add(InstallResult.failed(filenames[i], "install error: " + e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(InstallResult.failed(filenames[i], "interrupted"));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int successCount = 0;
+        int changedCount = 0;
+        for (InstallResult result : results) {
+            if (result.isSuccess()) {
                 successCount++;
+                if (result.isChanged()) {
+                    changedCount++;
+                }
+            } else {
+                LogUtils.logDebug("Batch item failed: " + result);
             }
         }
-        
+
+        // One refresh for the whole batch instead of one per mod, and none if every mod was identical
+        if (changedCount > 0) {
+            ModManager.loadMods(context);
+        }
+
         LogUtils.logUser("Batch installation complete: " + successCount + "/" + sourceUris.length + " mods installed");
-        return successCount;
+        return results;
+    }
+
+    // Per-item outcome of an installation
+    public static class InstallResult {
+        private final String filename;
+        private final boolean success;
+        private final String message;
+        private final File installedFile;
+        private final String sha256;
+        private final boolean changed;
+
+        private InstallResult(String filename, boolean success, String message, File installedFile,
+                              String sha256, boolean changed) {
+            this.filename = filename;
+            this.success = success;
+            this.message = message;
+            this.installedFile = installedFile;
+            this.sha256 = sha256;
+            this.changed = changed;
+        }
+
+        static InstallResult installed(String filename, File installedFile, String sha256) {
+            return new InstallResult(filename, true, "installed", installedFile, sha256, true);
+        }
+
+        // Byte-identical to the mod already installed: no backup, no reload needed
+        static InstallResult unchanged(String filename, File installedFile, String sha256) {
+            return new InstallResult(filename, true, "already installed (identical)", installedFile, sha256, false);
+        }
+
+        static InstallResult failed(String filename, String message) {
+            return new InstallResult(filename, false, message, null, null, false);
+        }
+
+        public String getFilename() { return filename; }
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public File getInstalledFile() { return installedFile; }
+        public String getSha256() { return sha256; }
+        public boolean isChanged() { return changed; }
+
+        @Override
+        public String toString() {
+            return filename + ": " + (success ? "✅ " : "❌ ") + message;
+        }
     }
 
     private static boolean isValidModFile(String filename) {
@@ -193,46 +336,47 @@ public class ModInstaller {
         return filename;
     }
 
-    private static boolean validateInstalledMod(File modFile) {
-        if (!modFile.exists()) {
-            LogUtils.logDebug("Validation failed: file does not exist");
-            return false;
-        }
-        
-        if (modFile.length() == 0) {
-            LogUtils.logDebug("Validation failed: file is empty");
-            return false;
+    // Structural checks run against the install copy stream (DEX) or the staged temp file (JAR/DLL headers)
+    private static class ModStreamInspector implements FileUtils.StreamInspector {
+        private final String modName;
+        private final DexValidator.StreamingDexCheck dexCheck;
+
+        ModStreamInspector(String filename) {
+            this.modName = filename.toLowerCase().replace(".disabled", "");
+            this.dexCheck = modName.endsWith(".dex") ? new DexValidator.StreamingDexCheck(filename) : null;
         }
-        
-        if (modFile.length() > MAX_MOD_SIZE) {
-            LogUtils.logDebug("Validation failed: file too large");
-            return false;
+
+        @Override
+        public boolean update(byte[] data, int offset, int length) {
+            if (dexCheck == null) {
+                return true;
+            }
+            dexCheck.update(data, offset, length);
+            return !dexCheck.isHeaderRejected(); // Stop copying a non-DEX file after the first chunk
         }
-        
-        // Basic file header validation for .dex files
-        if (modFile.getName().toLowerCase().endsWith(".dex")) {
-            try {
-                byte[] header = new byte[8];
-                java.io.FileInputStream fis = new java.io.FileInputStream(modFile);
-                int bytesRead = fis.read(header);
-                fis.close();
-                
-                if (bytesRead >= 8) {
-                    // Check DEX magic number
-                    String magic = new String(header, 0, 4);
-                    if (!"dex\n".equals(magic)) {
-                        LogUtils.logDebug("Validation failed: invalid DEX magic number");
-                        return false;
-                    }
+
+        @Override
+        public String verify(File tempFile, long size) {
+            if (dexCheck != null) {
+                DexValidator.Result result = dexCheck.finish();
+                LogUtils.logDebug("DEX structure: " + result);
+                return result.isValid() ? null : result.getError();
+            }
+            if (modName.endsWith(".jar")) {
+                DexValidator.Result result = DexValidator.validate(tempFile, modName);
+                LogUtils.logDebug("JAR structure: " + result);
+                return result.isValid() ? null : result.getError();
+            }
+            if (modName.endsWith(".dll")) {
+                DllAssemblyInfo info = DllAssemblyInfo.read(tempFile);
+                LogUtils.logDebug("DLL structure: " + info);
+                if (!info.isValid()) {
+                    return info.getError();
                 }
-            } catch (Exception e) {
-                LogUtils.logDebug("Validation warning: could not read file header: " + e.getMessage());
-                // Don't fail validation just because we can't read header
+                return info.isManaged() ? null : "DLL is not a .NET assembly";
             }
+            return null;
         }
-        
-        LogUtils.logDebug("Mod validation passed: " + modFile.getName());
-        return true;
     }
 
     private static String formatFileSize(long bytes) {
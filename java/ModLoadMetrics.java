@@ -0,0 +1,100 @@
+// File: ModLoadMetrics.java (Data Class) - Per-mod load timing and memory usage
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/ModLoadMetrics.java
+
+package com.terrarialoader.loader;
+
+import java.util.Locale;
+
+/**
+ * Load metrics for a single mod, filled in by ModLoader as each load step runs.
+ * Durations are kept in nanoseconds; heap delta is the change in used Java heap
+ * across the whole load (class loader, lookup, instantiation and onLoad).
+ */
+public class ModLoadMetrics {
+    private final String modName;
+    private final ModBase.ModType modType;
+    private final long loadedAt;
+
+    private long classLoaderNanos;
+    private long classLookupNanos;
+    private long onLoadNanos;
+    private long dllCopyNanos;
+    private long dllValidateNanos;
+    private long heapDeltaBytes;
+    private boolean loaded;
+    private volatile boolean timedOut;    // Set from the watchdog thread while onLoad is still running
+    private volatile boolean quarantined;
+    private String failureReason;
+
+    public ModLoadMetrics(String modName, ModBase.ModType modType) {
+        this.modName = modName;
+        this.modType = modType != null ? modType : ModBase.ModType.DEX;
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    // Recorders (package-private: only ModLoader writes metrics)
+    void addClassLoaderNanos(long nanos) { classLoaderNanos += nanos; }
+    void addClassLookupNanos(long nanos) { classLookupNanos += nanos; }
+    void addOnLoadNanos(long nanos) { onLoadNanos += nanos; }
+    void addDllCopyNanos(long nanos) { dllCopyNanos += nanos; }
+    void addDllValidateNanos(long nanos) { dllValidateNanos += nanos; }
+    void addHeapDeltaBytes(long bytes) { heapDeltaBytes += bytes; }
+    void setLoaded(boolean loaded) { this.loaded = loaded; }
+    void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+    void setTimedOut(boolean timedOut) { this.timedOut = timedOut; }
+    void setQuarantined(boolean quarantined) { this.quarantined = quarantined; }
+
+    // Getters
+    public String getModName() { return modName; }
+    public ModBase.ModType getModType() { return modType; }
+    public long getLoadedAt() { return loadedAt; }
+    public long getClassLoaderNanos() { return classLoaderNanos; }
+    public long getClassLookupNanos() { return classLookupNanos; }
+    public long getOnLoadNanos() { return onLoadNanos; }
+    public long getDllCopyNanos() { return dllCopyNanos; }
+    public long getDllValidateNanos() { return dllValidateNanos; }
+    public long getHeapDeltaBytes() { return heapDeltaBytes; }
+    public boolean isLoaded() { return loaded; }
+    public String getFailureReason() { return failureReason; }
+    public boolean isTimedOut() { return timedOut; }
+    public boolean isQuarantined() { return quarantined; }
+
+    public long getTotalNanos() {
+        return classLoaderNanos + classLookupNanos + onLoadNanos + dllCopyNanos + dllValidateNanos;
+    }
+
+    public double getTotalMs() {
+        return getTotalNanos() / 1_000_000.0;
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.US, "%.1f ms", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder info = new StringBuilder();
+        info.append(modName).append(" [").append(modType.getDisplayName()).append("] ");
+        info.append(loaded ? "loaded" : "failed").append(" in ").append(ms(getTotalNanos()));
+        if (modType != ModBase.ModType.DLL) {
+            info.append(" | classloader ").append(ms(classLoaderNanos));
+            info.append(", lookup ").append(ms(classLookupNanos));
+            info.append(", onLoad ").append(ms(onLoadNanos));
+        }
+        if (modType == ModBase.ModType.DLL || modType == ModBase.ModType.HYBRID) {
+            info.append(" | dll copy ").append(ms(dllCopyNanos));
+            info.append(", validate ").append(ms(dllValidateNanos));
+        }
+        info.append(" | heap ").append(heapDeltaBytes >= 0 ? "+" : "").append(heapDeltaBytes / 1024).append(" KB");
+        if (failureReason != null) {
+            info.append(" | ").append(failureReason);
+        }
+        if (timedOut) {
+            info.append(" | onLoad over budget");
+        }
+        if (quarantined) {
+            info.append(" | quarantined for next load");
+        }
+        return info.toString();
+    }
+}
@@ -4,22 +4,119 @@
 package com.terrarialoader.loader;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import com.terrarialoader.util.LogUtils;
 import com.terrarialoader.ui.SettingsActivity;
 import dalvik.system.DexClassLoader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class ModLoader {
     private static final String TAG = "ModLoader";
     private final List<ModBase> loadedDexMods = new ArrayList<>();
     private final List<File> loadedDllMods = new ArrayList<>();
+    private final Map<String, ModBase> loadedDexModsByName = new HashMap<>();
+    private final Map<String, ModLoadMetrics> loadMetrics = new LinkedHashMap<>();
+
+    // Lazy activation: DEX/JAR mods deferred until their trigger fires (keyed by scanned name)
+    private final Map<String, ModMetadata> pendingDexMods = new LinkedHashMap<>();
+    private final Handler activationHandler = new Handler(Looper.getMainLooper());
+    private boolean firstFrameReached = false;
+
+    // Watchdog: onLoad runs on the thread that loads the mod and is only measured against a per-mod
+    // budget. When it overruns, the watchdog thread records and reports it and, if enabled, marks the
+    // mod for quarantine; a running onLoad is never abandoned, so the mod stays loaded this session.
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ModWatchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Mods with loadOnWorkerThread in mod.json run onLoad here and are registered once it returns
+    private final ExecutorService onLoadExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ModOnLoad");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public synchronized void loadMods(Context context, List<File> availableMods, ModRepository repository) {
+        // Resolve load order from the repository (synchronous path)
+        List<ModMetadata> sortedMods = repository != null ? repository.resolveDependencies() : new ArrayList<>();
+        loadMods(context, availableMods, sortedMods);
+    }
+
+    // Load mods from an already resolved load order, preparing and activating on the calling thread
+    public synchronized void loadMods(Context context, List<File> availableMods, List<ModMetadata> sortedMods) {
+        activatePreparedMods(context, prepareMods(context, availableMods, sortedMods));
+    }
+
+    /**
+     * I/O half of a load, safe to run on a background thread (ModBootstrap): applies pending
+     * quarantine, deploys and validates DLL mods, creates the class loader of each DEX/JAR mod and
+     * finds its mod class. Touches no loader state; hand the result to activatePreparedMods.
+     */
+    public PreparedLoad prepareMods(Context context, List<File> availableMods, List<ModMetadata> sortedMods) {
+        boolean modsEnabled = context != null && SettingsActivity.isModsEnabled(context);
+        if (!modsEnabled || availableMods == null || availableMods.isEmpty()) {
+            return new PreparedLoad(modsEnabled, availableMods, null);
+        }
+
+        applyPendingQuarantine(context, availableMods);
+
+        // Check loader requirements
+        checkLoaderRequirements(context, availableMods);
+
+        boolean lazyActivation = SettingsActivity.isLazyActivationEnabled(context);
+        List<PreparedMod> prepared = new ArrayList<>();
+        for (ModMetadata metadata : sortedMods != null ? sortedMods : new ArrayList<ModMetadata>()) {
+            if (metadata == null || metadata.getModFile() == null || !isModEnabled(metadata.getModFile())) {
+                continue;
+            }
+            PreparedMod mod = new PreparedMod(metadata, new ModLoadMetrics(metadata.getName(), metadata.getModType()));
+            switch (mod.type) {
+                case DEX:
+                case JAR:
+                    if (lazyActivation && metadata.isLazyActivation()) {
+                        mod.deferred = true;
+                    } else {
+                        prepareDexMod(context, mod);
+                    }
+                    break;
+                case DLL:
+                    mod.dllReady = prepareDllMod(context, mod);
+                    break;
+                case HYBRID:
+                    LogUtils.logDebug("Loading hybrid mod: " + metadata.getName());
+                    // For hybrid mods, we need to load both components
+                    prepareDexMod(context, mod);
+                    mod.dllReady = prepareDllMod(context, mod);
+                    break;
+            }
+            prepared.add(mod);
+        }
+        DllMetadataCache.getInstance().flush(); // One write for all DLLs validated above
+        return new PreparedLoad(true, availableMods, prepared);
+    }
 
-    public void loadMods(Context context, List<File> availableMods, ModRepository repository) {
+    /**
+     * Main-thread half of a load: replaces the loaded mods with the prepared ones, instantiating
+     * each DEX/JAR mod class and calling onLoad in dependency order.
+     */
+    public synchronized void activatePreparedMods(Context context, PreparedLoad load) {
         if (context == null) {
             LogUtils.logDebug("Context is null, cannot load mods");
             return;
@@ -27,51 +124,153 @@ public class ModLoader {
 
         loadedDexMods.clear();
         loadedDllMods.clear();
+        loadedDexModsByName.clear();
+        loadMetrics.clear();
+        pendingDexMods.clear();
+        activationHandler.removeCallbacksAndMessages(null);
 
-        if (!SettingsActivity.isModsEnabled(context)) {
+        if (!load.modsEnabled) {
             LogUtils.logUser("Mod loading disabled in settings");
             return;
         }
 
-        if (availableMods == null || availableMods.isEmpty()) {
+        if (load.availableMods.isEmpty()) {
             LogUtils.logUser("No mods found to load");
             return;
         }
 
-        // Check loader requirements
-        checkLoaderRequirements(context, availableMods);
-        
         // Load mods by type and dependency order
-        List<ModMetadata> sortedMods = repository != null ? repository.resolveDependencies() : new ArrayList<>();
-        int dexLoaded = 0, dllLoaded = 0;
-
-        for (ModMetadata metadata : sortedMods) {
-            if (metadata != null && metadata.getModFile() != null && isModEnabled(metadata.getModFile())) {
-                ModBase.ModType type = ModBase.ModType.fromFileName(metadata.getModFile().getName());
-                switch (type) {
-                    case DEX:
-                    case JAR:
-                        if (loadDexMod(context, metadata)) {
-                            dexLoaded++;
-                        }
-                        break;
-                    case DLL:
-                        if (loadDllMod(context, metadata)) {
-                            dllLoaded++;
-                        }
-                        break;
-                    case HYBRID:
-                        if (loadHybridMod(context, metadata)) {
-                            dexLoaded++;
-                            dllLoaded++;
-                        }
-                        break;
-                }
+        int dexLoaded = 0, dllLoaded = 0, deferred = 0;
+        for (PreparedMod mod : load.mods) {
+            loadMetrics.put(mod.scannedName, mod.metrics);
+            switch (mod.type) {
+                case DEX:
+                case JAR:
+                    if (mod.deferred) {
+                        deferDexMod(mod.metadata);
+                        deferred++;
+                    } else if (activateDexMod(context, mod)) {
+                        dexLoaded++;
+                    }
+                    break;
+                case DLL:
+                    if (registerDllMod(mod)) {
+                        dllLoaded++;
+                    }
+                    break;
+                case HYBRID:
+                    boolean dexPart = activateDexMod(context, mod);
+                    boolean dllPart = registerDllMod(mod);
+                    if (dexPart || dllPart) {
+                        LogUtils.logUser("✅ Loaded hybrid mod: " + mod.metadata.getName() +
+                                       " (DEX: " + dexPart + ", DLL: " + dllPart + ")");
+                        dexLoaded++;
+                        dllLoaded++;
+                    }
+                    break;
             }
         }
 
         LogUtils.logUser("Loaded " + dexLoaded + " DEX/JAR mods and " + dllLoaded + " DLL mods");
-        LogUtils.logUser("Total: " + (dexLoaded + dllLoaded) + " out of " + availableMods.size() + " mods");
+        LogUtils.logUser("Total: " + (dexLoaded + dllLoaded) + " out of " + load.availableMods.size() + " mods");
+        List<ModLoadMetrics> slowest = getSlowestMods(1);
+        if (!slowest.isEmpty()) {
+            LogUtils.logDebug("Slowest mod: " + slowest.get(0));
+        }
+        if (deferred > 0) {
+            LogUtils.logUser("⏳ Deferred " + deferred + " mods until their activation trigger");
+            if (firstFrameReached) {
+                scheduleFirstFrameMods(context);
+            }
+        }
+    }
+
+    // === LAZY ACTIVATION ===
+
+    private void deferDexMod(ModMetadata metadata) {
+        pendingDexMods.put(metadata.getName(), metadata);
+        LogUtils.logDebug("Deferred DEX mod: " + metadata.getName() + " (trigger: " +
+                         metadata.getActivationTrigger().getDisplayName() + ")");
+    }
+
+    // First access: returns the mod instance, loading it now if it was deferred
+    public synchronized ModBase activateMod(Context context, String modName) {
+        if (modName == null) {
+            return null;
+        }
+
+        ModBase loaded = loadedDexModsByName.get(modName);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        ModMetadata metadata = pendingDexMods.remove(modName);
+        if (metadata == null || context == null) {
+            return null;
+        }
+
+        LogUtils.logDebug("Activating deferred mod: " + modName);
+        return loadDexMod(context, metadata) ? loadedDexModsByName.get(modName) : null;
+    }
+
+    // Named event: activates every deferred mod waiting for this event
+    public synchronized int dispatchActivationEvent(Context context, String eventName) {
+        if (context == null || eventName == null) {
+            return 0;
+        }
+
+        List<String> toActivate = new ArrayList<>();
+        for (ModMetadata metadata : pendingDexMods.values()) {
+            if (metadata.getActivationTrigger() == ModBase.ActivationTrigger.EVENT &&
+                eventName.equalsIgnoreCase(metadata.getActivationEvent())) {
+                toActivate.add(metadata.getName());
+            }
+        }
+
+        int activated = 0;
+        for (String modName : toActivate) {
+            if (activateMod(context, modName) != null) {
+                activated++;
+            }
+        }
+
+        if (activated > 0) {
+            LogUtils.logUser("Activated " + activated + " mods on event: " + eventName);
+        }
+        return activated;
+    }
+
+    // Called once the host has drawn its first frame
+    public synchronized void onFirstFrame(Context context) {
+        if (context == null || firstFrameReached) {
+            return;
+        }
+
+        firstFrameReached = true;
+        scheduleFirstFrameMods(context);
+    }
+
+    private void scheduleFirstFrameMods(Context context) {
+        for (ModMetadata metadata : pendingDexMods.values()) {
+            scheduleFirstFrameActivation(context, metadata);
+        }
+    }
+
+    private void scheduleFirstFrameActivation(Context context, ModMetadata metadata) {
+        if (metadata.getActivationTrigger() != ModBase.ActivationTrigger.FIRST_FRAME) {
+            return;
+        }
+        final Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        final String modName = metadata.getName();
+        activationHandler.postDelayed(() -> activateMod(appContext, modName), metadata.getActivationDelayMs());
+    }
+
+    public synchronized List<ModMetadata> getPendingDexMods() {
+        return new ArrayList<>(pendingDexMods.values());
+    }
+
+    public synchronized boolean isModPending(String modName) {
+        return modName != null && pendingDexMods.containsKey(modName);
     }
 
     private void checkLoaderRequirements(Context context, List<File> availableMods) {
@@ -97,14 +296,25 @@ public class ModLoader {
         }
     }
 
+    // Prepares and activates a single DEX/JAR mod on the calling thread (lazy activation, hot reload)
     private boolean loadDexMod(Context context, ModMetadata metadata) {
         if (context == null || metadata == null || metadata.getModFile() == null) {
             LogUtils.logDebug("Invalid parameters for DEX mod loading");
             return false;
         }
 
-        File file = metadata.getModFile();
+        PreparedMod mod = new PreparedMod(metadata, metricsFor(metadata));
+        prepareDexMod(context, mod);
+        return activateDexMod(context, mod);
+    }
+
+    // Creates the class loader and finds the mod class; no mod code runs here
+    private void prepareDexMod(Context context, PreparedMod mod) {
+        File file = mod.metadata.getModFile();
+        ModLoadMetrics metrics = mod.metrics;
+        long heapBefore = usedHeapBytes();
         try {
+            long start = System.nanoTime();
             String optimizedDir = context.getCodeCacheDir().getAbsolutePath();
             DexClassLoader loader = new DexClassLoader(
                 file.getAbsolutePath(),
@@ -112,6 +322,7 @@ public class ModLoader {
                 null,
                 context.getClassLoader()
             );
+            metrics.addClassLoaderNanos(System.nanoTime() - start);
             
             String[] possibleClassNames = {
                 "com.mod.MyMod",
@@ -124,6 +335,7 @@ public class ModLoader {
             Class<?> modClass = null;
             String foundClassName = null;
 
+            start = System.nanoTime();
             for (String className : possibleClassNames) {
                 try {
                     modClass = loader.loadClass(className);
@@ -133,49 +345,200 @@ public class ModLoader {
                     // Try next class name
                 }
             }
+            metrics.addClassLookupNanos(System.nanoTime() - start);
 
             if (modClass == null) {
+                metrics.setFailureReason("No mod class found");
                 LogUtils.logDebug("No valid mod class found in: " + file.getName());
-                return false;
+                return;
             }
 
             if (!ModBase.class.isAssignableFrom(modClass)) {
+                metrics.setFailureReason("Class does not implement ModBase");
                 LogUtils.logDebug("Class " + foundClassName + " does not implement ModBase interface");
-                return false;
+                return;
             }
 
-            ModBase mod = (ModBase) modClass.newInstance();
+            mod.modClass = modClass;
+            mod.className = foundClassName;
+
+        } catch (Exception e) {
+            String errorMsg = "Failed to load DEX mod: " + file.getName() + " - " + e.getMessage();
+            metrics.setFailureReason(e.getClass().getSimpleName() + ": " + e.getMessage());
+            LogUtils.logDebug(errorMsg);
+            Log.e(TAG, errorMsg, e);
+        } finally {
+            metrics.addHeapDeltaBytes(usedHeapBytes() - heapBefore);
+        }
+    }
+
+    // Instantiates a prepared mod class and runs onLoad; false if preparation failed
+    private boolean activateDexMod(Context context, PreparedMod prepared) {
+        if (prepared.modClass == null) {
+            return false;
+        }
+
+        ModMetadata metadata = prepared.metadata;
+        File file = metadata.getModFile();
+        ModLoadMetrics metrics = prepared.metrics;
+        long heapBefore = usedHeapBytes();
+        try {
+            long start = System.nanoTime();
+            ModBase mod = (ModBase) prepared.modClass.newInstance();
+            metrics.addClassLookupNanos(System.nanoTime() - start);
             metadata.updateFromModBase(mod);
 
             if (SettingsActivity.isSandboxMode(context)) {
                 LogUtils.logDebug("Loading DEX mod in sandbox mode: " + file.getName());
             }
 
-            mod.onLoad(context);
-            loadedDexMods.add(mod);
+            if (metadata.isLoadOnWorkerThread()) {
+                startOnLoadOnWorker(context, mod, prepared.scannedName, metadata, metrics, prepared.className);
+                return true;
+            }
 
-            LogUtils.logUser("✅ Loaded DEX mod: " + metadata.getName() + " v" + metadata.getVersion() +
-                           " (class: " + foundClassName + ")");
+            metrics.addOnLoadNanos(runOnLoadWithWatchdog(context, mod, metadata, metrics));
+            registerDexMod(mod, prepared.scannedName, metadata, metrics, prepared.className);
             return true;
 
         } catch (Exception e) {
             String errorMsg = "Failed to load DEX mod: " + file.getName() + " - " + e.getMessage();
+            metrics.setFailureReason(e.getClass().getSimpleName() + ": " + e.getMessage());
             LogUtils.logDebug(errorMsg);
             Log.e(TAG, errorMsg, e);
             return false;
+        } finally {
+            metrics.addHeapDeltaBytes(usedHeapBytes() - heapBefore);
         }
     }
 
-    private boolean loadDllMod(Context context, ModMetadata metadata) {
-        if (context == null || metadata == null || metadata.getModFile() == null) {
-            LogUtils.logDebug("Invalid parameters for DLL mod loading");
+    private void registerDexMod(ModBase mod, String scannedName, ModMetadata metadata,
+                                ModLoadMetrics metrics, String className) {
+        loadedDexMods.add(mod);
+        loadedDexModsByName.put(scannedName, mod);
+        metrics.setLoaded(true);
+
+        LogUtils.logUser("✅ Loaded DEX mod: " + metadata.getName() + " v" + metadata.getVersion() +
+                       " (class: " + className + ")");
+    }
+
+    // Runs onLoad on the calling thread under the watchdog. @return nanoseconds spent in onLoad
+    private long runOnLoadWithWatchdog(Context context, ModBase mod, ModMetadata metadata, ModLoadMetrics metrics) {
+        long timeoutMs = metadata.getLoadTimeoutMs() > 0 ? metadata.getLoadTimeoutMs()
+                                                          : SettingsActivity.getModLoadTimeoutMs(context);
+        ScheduledFuture<?> overrun = timeoutMs > 0 ?
+            watchdog.schedule(() -> onLoadOverrun(context, metadata, metrics, timeoutMs), timeoutMs, TimeUnit.MILLISECONDS) :
+            null; // 0 disables the watchdog
+
+        long start = System.nanoTime();
+        try {
+            mod.onLoad(context);
+        } finally {
+            if (overrun != null) {
+                overrun.cancel(false);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (metrics.isTimedOut()) {
+            LogUtils.logDebug("Mod " + metadata.getName() + " finished onLoad after " + elapsed / 1_000_000L + " ms");
+        }
+        return elapsed;
+    }
+
+    // Watchdog thread: onLoad is still running past its budget
+    private void onLoadOverrun(Context context, ModMetadata metadata, ModLoadMetrics metrics, long timeoutMs) {
+        String modName = metadata.getName();
+        metrics.setTimedOut(true);
+        LogUtils.logUser("⏱️ Mod " + modName + " is still in onLoad after its " + timeoutMs + " ms budget");
+
+        File modFile = metadata.getModFile();
+        if (SettingsActivity.isQuarantineSlowModsEnabled(context) && modFile != null) {
+            SettingsActivity.addQuarantinedMod(context, modFile.getName());
+            metrics.setQuarantined(true);
+            LogUtils.logUser("🚫 Quarantined " + modName + " - it will be disabled from the next mod load");
+        }
+    }
+
+    // Opt-in: onLoad runs on a worker so it cannot hold up the loading thread. The mod is registered
+    // when onLoad returns, unless it was unloaded or all mods were reloaded in the meantime.
+    private void startOnLoadOnWorker(Context context, ModBase mod, String scannedName, ModMetadata metadata,
+                                     ModLoadMetrics metrics, String className) {
+        onLoadExecutor.execute(() -> {
+            long elapsed;
+            try {
+                elapsed = runOnLoadWithWatchdog(context, mod, metadata, metrics);
+            } catch (Exception e) {
+                synchronized (ModLoader.this) {
+                    metrics.setFailureReason(e.getClass().getSimpleName() + ": " + e.getMessage());
+                }
+                LogUtils.logDebug("Failed to load DEX mod: " + metadata.getName() + " - " + e.getMessage());
+                Log.e(TAG, "onLoad failed on worker thread: " + metadata.getName(), e);
+                return;
+            }
+
+            synchronized (ModLoader.this) {
+                metrics.addOnLoadNanos(elapsed);
+                if (loadMetrics.get(scannedName) == metrics) {
+                    registerDexMod(mod, scannedName, metadata, metrics, className);
+                    return;
+                }
+            }
+            LogUtils.logDebug("Mod " + metadata.getName() + " was unloaded before its onLoad finished");
+            try {
+                mod.onUnload();
+            } catch (Exception e) {
+                LogUtils.logDebug("Error unloading DEX mod: " + e.getMessage());
+            }
+        });
+    }
+
+    // Disables the mods the watchdog quarantined during an earlier load
+    private void applyPendingQuarantine(Context context, List<File> availableMods) {
+        Set<String> quarantined = SettingsActivity.takeQuarantinedMods(context);
+        if (quarantined.isEmpty()) {
+            return;
+        }
+        for (File modFile : availableMods) {
+            if (modFile != null && quarantined.contains(modFile.getName()) && quarantineMod(modFile)) {
+                LogUtils.logUser("🚫 Disabled quarantined mod: " + modFile.getName());
+            }
+        }
+    }
+
+    // Rename to .disabled so the mod is skipped on the next scan
+    private boolean quarantineMod(File modFile) {
+        if (modFile == null || !modFile.exists() || !isModEnabled(modFile)) {
             return false;
         }
 
+        File disabledFile = new File(modFile.getParentFile(), modFile.getName() + ".disabled");
+        if (modFile.renameTo(disabledFile)) {
+            LogUtils.logDebug("Quarantined mod file: " + disabledFile.getName());
+            return true;
+        }
+        LogUtils.logDebug("Failed to quarantine mod file: " + modFile.getName());
+        return false;
+    }
+
+    public synchronized List<ModLoadMetrics> getWatchdogOverruns() {
+        List<ModLoadMetrics> overruns = new ArrayList<>();
+        for (ModLoadMetrics metrics : loadMetrics.values()) {
+            if (metrics.isTimedOut()) {
+                overruns.add(metrics);
+            }
+        }
+        return overruns;
+    }
+
+    // Deploys and validates a DLL mod (all file I/O); registerDllMod records the result
+    private boolean prepareDllMod(Context context, PreparedMod mod) {
+        ModMetadata metadata = mod.metadata;
         File file = metadata.getModFile();
+        ModLoadMetrics metrics = mod.metrics;
         try {
             // FIXED: Pass context parameter to MelonLoaderManager method
             if (!MelonLoaderManager.isMelonLoaderInstalled(context)) {
+                metrics.setFailureReason("MelonLoader not installed");
                 LogUtils.logDebug("Cannot load DLL mod - no loader installed: " + file.getName());
                 return false;
             }
@@ -186,52 +549,96 @@ public class ModLoader {
                 melonModsDir.mkdirs();
             }
 
-            // Copy DLL to MelonLoader mods directory
+            // Deploy DLL to MelonLoader mods directory (no I/O beyond a stat when unchanged)
             File targetFile = new File(melonModsDir, file.getName().replace(".disabled", ""));
-            if (!targetFile.exists()) {
-                if (!copyFile(file, targetFile)) {
-                    LogUtils.logDebug("Failed to copy DLL mod: " + file.getName());
-                    return false;
-                }
+            long start = System.nanoTime();
+            DllDeployer.Result deployResult = DllDeployer.deploy(file, targetFile);
+            metrics.addDllCopyNanos(System.nanoTime() - start);
+            if (!deployResult.isSuccess()) {
+                metrics.setFailureReason("DLL deployment failed");
+                LogUtils.logDebug("Failed to deploy DLL mod: " + file.getName());
+                return false;
             }
 
             // Validate DLL
-            if (!validateDllMod(targetFile)) {
+            start = System.nanoTime();
+            boolean valid = validateDllMod(context, metadata, targetFile);
+            metrics.addDllValidateNanos(System.nanoTime() - start);
+            if (!valid) {
+                metrics.setFailureReason("DLL validation failed");
                 LogUtils.logDebug("DLL validation failed: " + file.getName());
                 return false;
             }
-
-            loadedDllMods.add(file);
-            LogUtils.logUser("✅ Registered DLL mod: " + metadata.getName() + " v" + metadata.getVersion() +
-                           " (will load via MelonLoader on game startup)");
             return true;
 
         } catch (Exception e) {
             String errorMsg = "Failed to register DLL mod: " + file.getName() + " - " + e.getMessage();
+            metrics.setFailureReason(e.getClass().getSimpleName() + ": " + e.getMessage());
             LogUtils.logDebug(errorMsg);
             Log.e(TAG, errorMsg, e);
             return false;
         }
     }
 
-    private boolean loadHybridMod(Context context, ModMetadata metadata) {
-        if (context == null || metadata == null) {
-            LogUtils.logDebug("Invalid parameters for hybrid mod loading");
+    private boolean registerDllMod(PreparedMod mod) {
+        if (!mod.dllReady) {
             return false;
         }
 
-        LogUtils.logDebug("Loading hybrid mod: " + metadata.getName());
-        // For hybrid mods, we need to load both components
-        boolean dexLoaded = loadDexMod(context, metadata);
-        boolean dllLoaded = loadDllMod(context, metadata);
+        loadedDllMods.add(mod.metadata.getModFile());
+        mod.metrics.setLoaded(true);
+        LogUtils.logUser("✅ Registered DLL mod: " + mod.metadata.getName() + " v" + mod.metadata.getVersion() +
+                       " (will load via MelonLoader on game startup)");
+        return true;
+    }
 
-        if (dexLoaded || dllLoaded) {
-            LogUtils.logUser("✅ Loaded hybrid mod: " + metadata.getName() +
-                           " (DEX: " + dexLoaded + ", DLL: " + dllLoaded + ")");
-            return true;
+    // === LOAD METRICS ===
+
+    private ModLoadMetrics metricsFor(ModMetadata metadata) {
+        ModLoadMetrics metrics = loadMetrics.get(metadata.getName());
+        if (metrics == null) {
+            metrics = new ModLoadMetrics(metadata.getName(), metadata.getModType());
+            loadMetrics.put(metadata.getName(), metrics);
         }
+        return metrics;
+    }
 
-        return false;
+    private static long usedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public synchronized List<ModLoadMetrics> getLoadMetrics() {
+        return new ArrayList<>(loadMetrics.values());
+    }
+
+    public synchronized ModLoadMetrics getLoadMetrics(String modName) {
+        return loadMetrics.get(modName);
+    }
+
+    // Mods sorted by total load time, slowest first
+    public synchronized List<ModLoadMetrics> getSlowestMods(int limit) {
+        List<ModLoadMetrics> sorted = new ArrayList<>(loadMetrics.values());
+        Collections.sort(sorted, (a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return limit > 0 && sorted.size() > limit ? new ArrayList<>(sorted.subList(0, limit)) : sorted;
+    }
+
+    public synchronized String getLoadMetricsReport() {
+        StringBuilder report = new StringBuilder();
+        long totalNanos = 0;
+        long totalHeap = 0;
+        for (ModLoadMetrics metrics : loadMetrics.values()) {
+            totalNanos += metrics.getTotalNanos();
+            totalHeap += metrics.getHeapDeltaBytes();
+        }
+        report.append("Mods measured: ").append(loadMetrics.size()).append("\n");
+        report.append(String.format(Locale.US, "Total load time: %.1f ms\n", totalNanos / 1_000_000.0));
+        report.append("Total heap delta: ").append(totalHeap / 1024).append(" KB\n\n");
+        report.append("Slowest first:\n");
+        for (ModLoadMetrics metrics : getSlowestMods(0)) {
+            report.append("- ").append(metrics.toString()).append("\n");
+        }
+        return report.toString();
     }
 
     private boolean isModEnabled(File file) {
@@ -242,59 +649,27 @@ public class ModLoader {
         return !fileName.endsWith(".disabled");
     }
 
-    private boolean copyFile(File source, File target) {
-        if (source == null || target == null || !source.exists()) {
+    private boolean validateDllMod(Context context, ModMetadata metadata, File dllFile) {
+        if (dllFile == null || !dllFile.exists()) {
             return false;
         }
 
-        try (FileInputStream in = new FileInputStream(source);
-             FileOutputStream out = new FileOutputStream(target)) {
-
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                out.write(buffer, 0, bytesRead);
-            }
-            LogUtils.logDebug("Successfully copied: " + source.getName() + " -> " + target.getName());
-            return true;
-        } catch (Exception e) {
-            LogUtils.logDebug("File copy failed: " + e.getMessage());
+        // PE/COFF + CLI header check; parsed once per file content and cached by hash
+        DllAssemblyInfo info = DllMetadataCache.getInstance().getInfo(context, dllFile);
+        if (!info.isValid()) {
+            LogUtils.logDebug("Invalid PE image in DLL " + dllFile.getName() + ": " + info.getError());
             return false;
         }
-    }
-
-    private boolean validateDllMod(File dllFile) {
-        if (dllFile == null || !dllFile.exists()) {
+        if (!info.isManaged()) {
+            LogUtils.logDebug("DLL is not a .NET assembly: " + dllFile.getName());
             return false;
         }
 
-        try {
-            // Basic DLL validation - check file size and header
-            if (dllFile.length() == 0) {
-                LogUtils.logDebug("DLL file is empty: " + dllFile.getName());
-                return false;
-            }
-            
-            // Check for PE header (basic DLL validation)
-            try (FileInputStream fis = new FileInputStream(dllFile)) {
-                byte[] header = new byte[2];
-                if (fis.read(header) == 2) {
-                    // Check for MZ signature (PE executable)
-                    if (header[0] == 0x4D && header[1] == 0x5A) {
-                        LogUtils.logDebug("DLL validation passed: " + dllFile.getName());
-                        return true;
-                    } else {
-                        LogUtils.logDebug("Invalid PE header in DLL: " + dllFile.getName());
-                        return false;
-                    }
-                }
-            }
-            LogUtils.logDebug("Could not read DLL header: " + dllFile.getName());
-            return false;
-        } catch (Exception e) {
-            LogUtils.logDebug("DLL validation error: " + e.getMessage());
-            return false;
+        if (metadata != null) {
+            metadata.setAssemblyInfo(info);
         }
+        LogUtils.logDebug("DLL validation passed: " + info);
+        return true;
     }
 
     // Cleanup method for DLL mods
@@ -364,6 +739,10 @@ public class ModLoader {
         return loadedDexMods.size();
     }
 
+    public synchronized int getPendingDexModCount() {
+        return pendingDexMods.size();
+    }
+
     public int getLoadedDllModCount() {
         return loadedDllMods.size();
     }
@@ -379,33 +758,150 @@ public class ModLoader {
 
     // Get mod loading status
     public String getLoadingStatus() {
-        return "Loaded " + getLoadedDexModCount() + " DEX/JAR mods and " + 
+        String status = "Loaded " + getLoadedDexModCount() + " DEX/JAR mods and " + 
                getLoadedDllModCount() + " DLL mods (" + getTotalLoadedModCount() + " total)";
+        int pending = getPendingDexModCount();
+        return pending > 0 ? status + ", " + pending + " awaiting activation" : status;
     }
 
     // Clear all loaded mods
-    public void clearLoadedMods() {
+    public synchronized void clearLoadedMods() {
         loadedDexMods.clear();
         loadedDllMods.clear();
+        loadedDexModsByName.clear();
+        loadMetrics.clear();
+        pendingDexMods.clear();
+        activationHandler.removeCallbacksAndMessages(null);
         LogUtils.logDebug("Cleared all loaded mods from memory");
     }
 
-    // Unload specific mod (for DEX mods)
-    public boolean unloadDexMod(ModBase mod) {
+    // === HOT RELOAD ===
+
+    // Unload a DEX mod by the name it was scanned under; dropping the instance releases its class loader
+    public synchronized boolean unloadDexMod(String modName) {
+        if (modName == null) {
+            return false;
+        }
+
+        boolean wasPending = pendingDexMods.remove(modName) != null;
+        loadMetrics.remove(modName);
+        ModBase mod = loadedDexModsByName.get(modName);
+        return mod != null ? unloadDexMod(mod) : wasPending;
+    }
+
+    // Replace a single DEX/JAR mod with the version currently on disk, leaving all other mods untouched
+    public synchronized boolean reloadDexMod(Context context, ModMetadata metadata, String previousName) {
+        if (context == null || metadata == null || metadata.getModFile() == null) {
+            return false;
+        }
+        return applyReload(context, previousName != null ? previousName : metadata.getName(),
+                           prepareReload(context, metadata));
+    }
+
+    /**
+     * I/O half of a hot reload, safe to run off the main thread: creates the class loader of the
+     * new version of a changed mod. Returns null when the old instance should only be unloaded
+     * (not a DEX/JAR mod, disabled, or mods are off).
+     */
+    PreparedMod prepareReload(Context context, ModMetadata metadata) {
+        ModBase.ModType type = metadata.getModType();
+        if (type != ModBase.ModType.DEX && type != ModBase.ModType.JAR) {
+            LogUtils.logDebug("Hot reload skipped for non-DEX mod: " + metadata.getName());
+            return null;
+        }
+        if (!SettingsActivity.isModsEnabled(context) || !isModEnabled(metadata.getModFile())) {
+            return null;
+        }
+
+        PreparedMod mod = new PreparedMod(metadata, new ModLoadMetrics(metadata.getName(), type));
+        if (SettingsActivity.isLazyActivationEnabled(context) && metadata.isLazyActivation()) {
+            mod.deferred = true;
+        } else {
+            prepareDexMod(context, mod);
+        }
+        return mod;
+    }
+
+    // Main-thread half of a hot reload: drops the old instance and activates the prepared one
+    synchronized boolean applyReload(Context context, String previousName, PreparedMod mod) {
+        unloadDexMod(previousName);
+        if (mod == null) {
+            return false;
+        }
+
+        loadMetrics.put(mod.scannedName, mod.metrics);
+        if (mod.deferred) {
+            deferDexMod(mod.metadata);
+            if (firstFrameReached) {
+                scheduleFirstFrameActivation(context, mod.metadata);
+            }
+            return true;
+        }
+
+        boolean loaded = activateDexMod(context, mod);
+        if (loaded) {
+            LogUtils.logUser("🔄 Hot reloaded mod: " + mod.metadata.getName());
+        }
+        return loaded;
+    }
+
+    // Unload specific mod (for DEX mods). The instance is dropped even if onUnload throws,
+    // so a reload never leaves the old and new versions registered side by side.
+    public synchronized boolean unloadDexMod(ModBase mod) {
         if (mod == null) {
             return false;
         }
 
+        boolean removed;
         try {
             mod.onUnload();
-            boolean removed = loadedDexMods.remove(mod);
-            if (removed) {
-                LogUtils.logDebug("Unloaded DEX mod: " + mod.getModName());
-            }
-            return removed;
         } catch (Exception e) {
             LogUtils.logDebug("Error unloading DEX mod: " + e.getMessage());
-            return false;
+        } finally {
+            removed = loadedDexMods.remove(mod);
+            loadedDexModsByName.values().remove(mod);
+        }
+        if (removed) {
+            LogUtils.logDebug("Unloaded DEX mod: " + mod.getModName());
+        }
+        return removed;
+    }
+
+    // === PREPARED LOADS ===
+
+    /**
+     * Result of prepareMods, handed from the bootstrap thread to the main thread. Built once
+     * and not modified afterwards, so publishing it through a Handler post is enough.
+     */
+    public static final class PreparedLoad {
+        private final boolean modsEnabled;
+        private final List<File> availableMods;
+        private final List<PreparedMod> mods;
+
+        PreparedLoad(boolean modsEnabled, List<File> availableMods, List<PreparedMod> mods) {
+            this.modsEnabled = modsEnabled;
+            this.availableMods = availableMods != null ?
+                Collections.unmodifiableList(new ArrayList<>(availableMods)) : Collections.<File>emptyList();
+            this.mods = mods != null ? Collections.unmodifiableList(mods) : Collections.<PreparedMod>emptyList();
+        }
+    }
+
+    // One mod of a PreparedLoad: its class loader and mod class, or its deployed DLL
+    static final class PreparedMod {
+        final ModMetadata metadata;
+        final String scannedName; // Name the mod was scanned under, before updateFromModBase
+        final ModBase.ModType type;
+        final ModLoadMetrics metrics;
+        boolean deferred;
+        Class<?> modClass; // null = DEX part not prepared or failed
+        String className;
+        boolean dllReady;
+
+        PreparedMod(ModMetadata metadata, ModLoadMetrics metrics) {
+            this.metadata = metadata;
+            this.scannedName = metadata.getName();
+            this.type = ModBase.ModType.fromFileName(metadata.getModFile().getName());
+            this.metrics = metrics;
         }
     }
-}
\ No newline at end of file
+}
@@ -7,12 +7,14 @@ import android.content.Context;
 import com.terrarialoader.util.PathManager;
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * ModManager serves as a facade that delegates to specialized components:
  * - ModLoader: Handles the actual loading of mods
  * - ModRepository: Manages mod storage and metadata
  * - ModController: Handles mod state changes (enable/disable/delete)
+ * - ModBootstrap: Runs startup loading off the main thread
  * 
  * This maintains backward compatibility while organizing code into focused components.
  * Updated to use PathManager for consistent directory structure.
@@ -21,6 +23,8 @@ public class ModManager {
     private static final ModLoader modLoader = new ModLoader();
     private static final ModRepository modRepository = new ModRepository();
     private static final ModController modController = new ModController(modLoader, modRepository);
+    private static final ModBootstrap modBootstrap = new ModBootstrap(modLoader, modRepository);
+    private static final ModWatcher modWatcher = new ModWatcher(modController);
 
     // === LOADING OPERATIONS ===
     public static void loadMods(Context context) {
@@ -40,15 +44,69 @@ public class ModManager {
         modLoader.loadMods(context, modRepository.getAvailableMods(), modRepository);
     }
 
+    // Asynchronous startup: scan/resolve/prepare on a background thread, load on the main thread
+    public static boolean loadModsAsync(Context context, Callable<Boolean> enabledCheck,
+                                        ModBootstrap.BootstrapListener listener) {
+        return modBootstrap.start(context, enabledCheck, listener);
+    }
+
+    public static boolean isBootstrapComplete() {
+        return modBootstrap.isComplete();
+    }
+
+    public static StartupTimeline getStartupTimeline() {
+        return modBootstrap.getTimeline();
+    }
+
     // === RETRIEVAL OPERATIONS ===
     public static List<ModBase> getLoadedMods() {
         return modLoader.getLoadedDexMods();
     }
 
+    // === LAZY ACTIVATION ===
+    // First access to a deferred mod loads it on demand
+    public static ModBase getMod(Context context, String modName) {
+        return modLoader.activateMod(context, modName);
+    }
+
+    public static int dispatchModEvent(Context context, String eventName) {
+        return modLoader.dispatchActivationEvent(context, eventName);
+    }
+
+    public static void onFirstFrame(Context context) {
+        modLoader.onFirstFrame(context);
+    }
+
+    public static List<ModMetadata> getPendingMods() {
+        return modLoader.getPendingDexMods();
+    }
+
     public static List<File> getLoadedDllMods() {
         return modLoader.getLoadedDllMods();
     }
 
+    // === LOAD METRICS ===
+    public static List<ModLoadMetrics> getLoadMetrics() {
+        return modLoader.getLoadMetrics();
+    }
+
+    public static ModLoadMetrics getLoadMetrics(String modName) {
+        return modLoader.getLoadMetrics(modName);
+    }
+
+    public static List<ModLoadMetrics> getSlowestMods(int limit) {
+        return modLoader.getSlowestMods(limit);
+    }
+
+    public static String getLoadMetricsReport() {
+        return modLoader.getLoadMetricsReport();
+    }
+
+    // Mods whose onLoad exceeded the watchdog budget in this process
+    public static List<ModLoadMetrics> getWatchdogOverruns() {
+        return modLoader.getWatchdogOverruns();
+    }
+
     public static List<File> getAvailableMods() {
         return modRepository.getAvailableMods();
     }
@@ -142,6 +200,7 @@ public class ModManager {
         return modController.repairModFile(context, modFile);
     }
 
+    // May return a ContentStore .ref file - restore it with ContentStore.restore, never copy it
     public static File createModBackup(File modFile) {
         return modController.createModBackup(modFile);
     }
@@ -150,13 +209,20 @@ public class ModManager {
     public static String getDebugInfo() {
         StringBuilder info = new StringBuilder();
         info.append("=== ModManager Debug Info (Facade Pattern) ===\n");
-        info.append("Components: ModLoader, ModRepository, ModController\n");
+        info.append("Components: ModLoader, ModRepository, ModController, ModBootstrap\n");
         info.append("PathManager: Centralized path management\n\n");
         info.append(modRepository.getDebugInfo());
         
         info.append("\nLoaded Components:\n");
         info.append("- DEX Mods Loaded: ").append(modLoader.getLoadedDexMods().size()).append("\n");
         info.append("- DLL Mods Loaded: ").append(modLoader.getLoadedDllMods().size()).append("\n");
+        info.append("- DEX Mods Awaiting Activation: ").append(modLoader.getPendingDexModCount()).append("\n");
+        
+        StartupTimeline timeline = modBootstrap.getTimeline();
+        if (timeline != null) {
+            info.append("\nBootstrap: ").append(modBootstrap.getState()).append("\n");
+            info.append(timeline.format());
+        }
         
         return info.toString();
     }
@@ -174,11 +240,29 @@ public class ModManager {
         return modController;
     }
 
+    public static ModBootstrap getModBootstrap() {
+        return modBootstrap;
+    }
+
     // === REFRESH OPERATION ===
     public static void refreshMods(Context context) {
         modController.refreshMods(context);
     }
 
+    // === HOT RELOAD ===
+    // Reloads only mods whose files changed since the last scan
+    public static int hotReloadChangedMods(Context context) {
+        return modController.hotReloadChangedMods(context);
+    }
+
+    public static boolean startWatchingMods(Context context) {
+        return modWatcher.start(context);
+    }
+
+    public static void stopWatchingMods() {
+        modWatcher.stop();
+    }
+
     // === DEPENDENCY RESOLUTION ===
     public static List<ModMetadata> resolveDependencies() {
         return modRepository.resolveDependencies();
@@ -25,6 +25,12 @@ public class ModMetadata {
     private File modFile;
     private boolean isValid;
     private ModBase.ModType modType;
+    private ModBase.ActivationTrigger activationTrigger = ModBase.ActivationTrigger.IMMEDIATE;
+    private String activationEvent;
+    private long activationDelayMs;
+    private long loadTimeoutMs; // 0 = use the global onLoad budget
+    private boolean loadOnWorkerThread; // Mod declares its onLoad safe to run off the loading thread
+    private DllAssemblyInfo assemblyInfo; // DLL/hybrid mods only, from DllMetadataCache
 
     // FIXED: Constructor with enhanced null safety
     public ModMetadata(File modFile) {
@@ -109,6 +115,18 @@ public class ModMetadata {
             this.minGameVersion = json.optString("minGameVersion", this.minGameVersion);
             this.maxGameVersion = json.optString("maxGameVersion", this.maxGameVersion);
             
+            // Optional per-mod onLoad budget for the watchdog
+            this.loadTimeoutMs = Math.max(0, json.optLong("loadTimeoutMs", 0));
+            this.loadOnWorkerThread = json.optBoolean("loadOnWorkerThread", false);
+            
+            // Load activation trigger (lazy activation)
+            JSONObject activation = json.optJSONObject("activation");
+            if (activation != null) {
+                this.activationTrigger = ModBase.ActivationTrigger.fromKey(activation.optString("trigger", "immediate"));
+                this.activationEvent = activation.optString("event", null);
+                this.activationDelayMs = Math.max(0, activation.optLong("delayMs", 0));
+            }
+            
             // Load dependencies
             JSONArray depsArray = json.optJSONArray("dependencies");
             if (depsArray != null) {
@@ -137,6 +155,13 @@ public class ModMetadata {
                 this.minGameVersion = modInstance.getMinGameVersion() != null ? modInstance.getMinGameVersion() : this.minGameVersion;
                 this.maxGameVersion = modInstance.getMaxGameVersion() != null ? modInstance.getMaxGameVersion() : this.maxGameVersion;
                 
+                ModBase.ActivationTrigger trigger = modInstance.getActivationTrigger();
+                if (trigger != null && trigger != ModBase.ActivationTrigger.IMMEDIATE) {
+                    this.activationTrigger = trigger;
+                    this.activationEvent = modInstance.getActivationEvent();
+                    this.activationDelayMs = Math.max(0, modInstance.getActivationDelayMs());
+                }
+                
                 String[] deps = modInstance.getDependencies();
                 if (deps != null) {
                     this.dependencies = Arrays.asList(deps);
@@ -160,6 +185,37 @@ public class ModMetadata {
     public File getModFile() { return modFile; }
     public boolean isValid() { return isValid; }
     public ModBase.ModType getModType() { return modType != null ? modType : ModBase.ModType.DEX; }
+    public ModBase.ActivationTrigger getActivationTrigger() { return activationTrigger != null ? activationTrigger : ModBase.ActivationTrigger.IMMEDIATE; }
+    public String getActivationEvent() { return activationEvent; }
+    public long getActivationDelayMs() { return activationDelayMs; }
+    public long getLoadTimeoutMs() { return loadTimeoutMs; }
+    public boolean isLoadOnWorkerThread() { return loadOnWorkerThread; }
+    public DllAssemblyInfo getAssemblyInfo() { return assemblyInfo; }
+    public String getAssemblyName() { return assemblyInfo != null ? assemblyInfo.getAssemblyName() : null; }
+
+    public List<String> getReferencedAssemblies() {
+        return assemblyInfo != null ? assemblyInfo.getReferencedAssemblies() : new ArrayList<>();
+    }
+
+    public void setAssemblyInfo(DllAssemblyInfo assemblyInfo) {
+        this.assemblyInfo = assemblyInfo;
+    }
+
+    // Used by ModRepository to turn assembly references into load-order dependencies
+    public void addDependency(String dependency) {
+        if (dependency == null || getDependencies().contains(dependency)) {
+            return;
+        }
+        this.dependencies = new ArrayList<>(getDependencies());
+        this.dependencies.add(dependency);
+    }
+
+    // Lazy activation: only DEX/JAR mods with a non-immediate trigger can be deferred
+    public boolean isLazyActivation() {
+        ModBase.ModType type = getModType();
+        return getActivationTrigger() != ModBase.ActivationTrigger.IMMEDIATE &&
+               (type == ModBase.ModType.DEX || type == ModBase.ModType.JAR);
+    }
 
     // Dependency checking
     public boolean hasDependencies() {
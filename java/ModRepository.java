@@ -11,28 +11,119 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Scanned mod files and their metadata. Scans run on the bootstrap and watcher threads while
+ * the UI reads from the main thread, so every access to the state below holds the repository
+ * lock. Scans build their result off to the side and apply it under the lock, so readers never
+ * wait on their I/O; scanLock only keeps two scans from interleaving.
+ */
 public class ModRepository {
     private final List<File> availableMods = new ArrayList<>();
     private final Map<String, ModMetadata> modMetadataMap = new HashMap<>();
     private final Map<String, ModConfiguration> modConfigMap = new HashMap<>();
     
+    // Scan index: size + mtime of every mod file seen by the last scan (keyed by absolute path)
+    private final Map<String, ScanEntry> scanIndex = new HashMap<>();
+    private final Object scanLock = new Object();
+    
     // Enhanced file extensions for DLL support
     private static final String[] SUPPORTED_EXTENSIONS = {
         ".dex", ".jar", ".dll", ".dex.disabled", ".jar.disabled", ".dll.disabled", ".hybrid", ".hybrid.disabled"
     };
 
     public void scanForMods(Context context) {
-        availableMods.clear();
-        modMetadataMap.clear();
+        synchronized (scanLock) {
+            List<File> mods = new ArrayList<>();
+            Map<String, ModMetadata> metadataMap = new HashMap<>();
+            Map<String, ScanEntry> index = new HashMap<>();
+
+            File[] modFiles = listModFiles(context);
+            if (modFiles != null) {
+                LogUtils.logUser("Found " + modFiles.length + " mod files");
+            
+                // Load metadata for all mods
+                for (File file : modFiles) {
+                    addMod(context, file, mods, metadataMap, index);
+                }
+                DllMetadataCache.getInstance().flush();
+            }
+
+            synchronized (this) {
+                availableMods.clear();
+                availableMods.addAll(mods);
+                modMetadataMap.clear();
+                modMetadataMap.putAll(metadataMap);
+                scanIndex.clear();
+                scanIndex.putAll(index);
+            }
+        }
+    }
+
+    // Incremental rescan: only files whose size or mtime changed since the last scan are re-read
+    public ScanDelta rescanChanged(Context context) {
+        synchronized (scanLock) {
+            ScanDelta delta = new ScanDelta();
+            File[] modFiles = listModFiles(context);
+            if (modFiles == null) {
+                return delta;
+            }
+
+            Map<String, ScanEntry> previous;
+            synchronized (this) {
+                previous = new HashMap<>(scanIndex);
+            }
+
+            // Stat and parse outside the repository lock; only the result is applied under it
+            List<File> addedFiles = new ArrayList<>();
+            Map<String, ModMetadata> addedMetadata = new HashMap<>();
+            Map<String, ScanEntry> addedIndex = new HashMap<>();
+            Map<String, ScanEntry> removedIndex = new HashMap<>(); // Changed or deleted, by path
+            for (File file : modFiles) {
+                String path = file.getAbsolutePath();
+                ScanEntry entry = previous.remove(path);
+                if (entry == null) {
+                    delta.added.add(addMod(context, file, addedFiles, addedMetadata, addedIndex));
+                } else if (entry.size != file.length() || entry.lastModified != file.lastModified()) {
+                    removedIndex.put(path, entry);
+                    ModMetadata metadata = addMod(context, file, addedFiles, addedMetadata, addedIndex);
+                    delta.changed.add(metadata);
+                    delta.previousNames.put(metadata, entry.modName);
+                }
+            }
+
+            // Whatever is left in the previous index no longer exists on disk
+            for (Map.Entry<String, ScanEntry> removed : previous.entrySet()) {
+                removedIndex.put(removed.getKey(), removed.getValue());
+                delta.removedNames.add(removed.getValue().modName);
+            }
+
+            if (delta.isEmpty()) {
+                return delta;
+            }
+            DllMetadataCache.getInstance().flush();
 
+            synchronized (this) {
+                for (Map.Entry<String, ScanEntry> removed : removedIndex.entrySet()) {
+                    removeIndexedMod(removed.getKey(), removed.getValue());
+                }
+                availableMods.addAll(addedFiles);
+                modMetadataMap.putAll(addedMetadata);
+                scanIndex.putAll(addedIndex);
+            }
+            LogUtils.logDebug("Incremental scan: " + delta);
+            return delta;
+        }
+    }
+
+    private File[] listModFiles(Context context) {
         File modDir = new File(context.getExternalFilesDir(null), "mods");
         if (!modDir.exists() && !modDir.mkdirs()) {
             LogUtils.logDebug("Failed to create mods directory");
-            return;
+            return null;
         }
 
         // Enhanced file filtering for DLL support
-        File[] modFiles = modDir.listFiles((dir, name) -> {
+        return modDir.listFiles((dir, name) -> {
             String lowerName = name.toLowerCase();
             for (String ext : SUPPORTED_EXTENSIONS) {
                 if (lowerName.endsWith(ext)) {
@@ -41,24 +132,32 @@ public class ModRepository {
             }
             return false;
         });
+    }
 
-        if (modFiles != null) {
-            LogUtils.logUser("Found " + modFiles.length + " mod files");
-            
-            // Load metadata for all mods
-            for (File file : modFiles) {
-                availableMods.add(file);
-                ModMetadata metadata = new ModMetadata(file);
-                modMetadataMap.put(metadata.getName(), metadata);
-            }
+    private static ModMetadata addMod(Context context, File file, List<File> mods,
+                                      Map<String, ModMetadata> metadataMap, Map<String, ScanEntry> index) {
+        mods.add(file);
+        ModMetadata metadata = new ModMetadata(file);
+        if (metadata.getModType() == ModBase.ModType.DLL) {
+            // Header-only parse, cached by file hash - unchanged DLLs cost a stat
+            metadata.setAssemblyInfo(DllMetadataCache.getInstance().getInfo(context, file));
         }
+        metadataMap.put(metadata.getName(), metadata);
+        index.put(file.getAbsolutePath(), new ScanEntry(file.length(), file.lastModified(), metadata.getName()));
+        return metadata;
     }
 
-    public List<File> getAvailableMods() {
+    private void removeIndexedMod(String path, ScanEntry entry) {
+        scanIndex.remove(path);
+        modMetadataMap.remove(entry.modName);
+        availableMods.removeIf(file -> file.getAbsolutePath().equals(path));
+    }
+
+    public synchronized List<File> getAvailableMods() {
         return new ArrayList<>(availableMods);
     }
 
-    public List<File> getModsByType(ModBase.ModType type) {
+    public synchronized List<File> getModsByType(ModBase.ModType type) {
         List<File> typedMods = new ArrayList<>();
         for (File mod : availableMods) {
             if (ModBase.ModType.fromFileName(mod.getName()) == type) {
@@ -68,15 +167,15 @@ public class ModRepository {
         return typedMods;
     }
 
-    public List<ModMetadata> getModMetadata() {
+    public synchronized List<ModMetadata> getModMetadata() {
         return new ArrayList<>(modMetadataMap.values());
     }
 
-    public ModMetadata getMetadata(String modName) {
+    public synchronized ModMetadata getMetadata(String modName) {
         return modMetadataMap.get(modName);
     }
 
-    public ModConfiguration getConfiguration(Context context, String modName) {
+    public synchronized ModConfiguration getConfiguration(Context context, String modName) {
         if (!modConfigMap.containsKey(modName)) {
             modConfigMap.put(modName, new ModConfiguration(context, modName));
         }
@@ -84,8 +183,9 @@ public class ModRepository {
     }
 
     // Dependency resolution
-    public List<ModMetadata> resolveDependencies() {
+    public synchronized List<ModMetadata> resolveDependencies() {
         List<ModMetadata> allMods = new ArrayList<>(modMetadataMap.values());
+        addAssemblyDependencies(allMods);
         List<ModMetadata> sortedMods = new ArrayList<>();
         List<ModMetadata> remaining = new ArrayList<>(allMods);
         
@@ -113,8 +213,32 @@ public class ModRepository {
         return sortedMods;
     }
 
+    // A DLL mod that references another mod's assembly must load after it
+    private void addAssemblyDependencies(List<ModMetadata> allMods) {
+        Map<String, ModMetadata> modsByAssembly = new HashMap<>();
+        for (ModMetadata mod : allMods) {
+            if (mod.getAssemblyName() != null) {
+                modsByAssembly.put(mod.getAssemblyName().toLowerCase(), mod);
+            }
+        }
+        if (modsByAssembly.isEmpty()) {
+            return;
+        }
+
+        for (ModMetadata mod : allMods) {
+            for (String reference : mod.getReferencedAssemblies()) {
+                ModMetadata provider = modsByAssembly.get(reference.toLowerCase());
+                if (provider != null && provider != mod && !mod.getDependencies().contains(provider.getName())) {
+                    mod.addDependency(provider.getName());
+                    LogUtils.logDebug(mod.getName() + " references assembly " + reference +
+                                      " - loading after " + provider.getName());
+                }
+            }
+        }
+    }
+
     // Statistics methods
-    public int getEnabledModCount() {
+    public synchronized int getEnabledModCount() {
         int count = 0;
         for (File mod : availableMods) {
             if (isModEnabled(mod)) {
@@ -124,23 +248,23 @@ public class ModRepository {
         return count;
     }
 
-    public int getDisabledModCount() {
+    public synchronized int getDisabledModCount() {
         return availableMods.size() - getEnabledModCount();
     }
 
-    public int getTotalModCount() {
+    public synchronized int getTotalModCount() {
         return availableMods.size();
     }
 
-    public int getDexModCount() {
+    public synchronized int getDexModCount() {
         return getModsByType(ModBase.ModType.DEX).size() + getModsByType(ModBase.ModType.JAR).size();
     }
 
-    public int getDllModCount() {
+    public synchronized int getDllModCount() {
         return getModsByType(ModBase.ModType.DLL).size();
     }
 
-    public int getHybridModCount() {
+    public synchronized int getHybridModCount() {
         return getModsByType(ModBase.ModType.HYBRID).size();
     }
 
@@ -150,7 +274,7 @@ public class ModRepository {
     }
 
     // Clean up method to remove mod from repository
-    public void removeMod(String modName) {
+    public synchronized void removeMod(String modName) {
         // Remove from metadata map
         modMetadataMap.remove(modName);
         
@@ -170,7 +294,7 @@ public class ModRepository {
     }
 
     // Debug information
-    public String getDebugInfo() {
+    public synchronized String getDebugInfo() {
         StringBuilder info = new StringBuilder();
         info.append("=== ModRepository Debug Info ===\n");
         info.append("Total mods: ").append(availableMods.size()).append("\n");
@@ -193,6 +317,45 @@ public class ModRepository {
         return info.toString();
     }
 
+    private static class ScanEntry {
+        final long size;
+        final long lastModified;
+        final String modName;
+
+        ScanEntry(long size, long lastModified, String modName) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.modName = modName;
+        }
+    }
+
+    // Result of an incremental rescan
+    public static class ScanDelta {
+        private final List<ModMetadata> added = new ArrayList<>();
+        private final List<ModMetadata> changed = new ArrayList<>();
+        private final List<String> removedNames = new ArrayList<>();
+        private final Map<ModMetadata, String> previousNames = new HashMap<>();
+
+        public List<ModMetadata> getAdded() { return added; }
+        public List<ModMetadata> getChanged() { return changed; }
+        public List<String> getRemovedNames() { return removedNames; }
+
+        // Name a changed mod was registered under before the rescan (its mod.json may have changed)
+        public String getPreviousName(ModMetadata metadata) {
+            String previous = previousNames.get(metadata);
+            return previous != null ? previous : metadata.getName();
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty() && removedNames.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return added.size() + " added, " + changed.size() + " changed, " + removedNames.size() + " removed";
+        }
+    }
+
     // Supported extensions getter
     public static String[] getSupportedExtensions() {
         return SUPPORTED_EXTENSIONS.clone();
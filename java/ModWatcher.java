@@ -0,0 +1,97 @@
+// File: ModWatcher.java (Component) - Watches the mods directory for hot reload
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/ModWatcher.java
+
+package com.terrarialoader.loader;
+
+import android.content.Context;
+import android.os.FileObserver;
+import com.terrarialoader.util.LogUtils;
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the mods directory and triggers ModController.hotReloadChangedMods
+ * after file writes settle, so editing one mod reloads only that mod. The rescan
+ * and class loader preparation run on the watcher's own thread, not the main thread.
+ */
+public class ModWatcher {
+    private static final long DEBOUNCE_MS = 500;
+    private static final int WATCH_EVENTS = FileObserver.CLOSE_WRITE | FileObserver.MOVED_TO |
+                                            FileObserver.MOVED_FROM | FileObserver.DELETE;
+
+    private final ModController modController;
+    private final ScheduledExecutorService reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ModWatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileObserver observer;
+    private ScheduledFuture<?> pendingReload;
+    private volatile Context appContext;
+
+    private final Runnable reloadTask = () -> {
+        if (appContext != null) {
+            modController.hotReloadChangedMods(appContext);
+        }
+    };
+
+    public ModWatcher(ModController modController) {
+        this.modController = modController;
+    }
+
+    public synchronized boolean start(Context context) {
+        if (context == null) {
+            return false;
+        }
+        if (observer != null) {
+            return true; // Already watching
+        }
+
+        appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        File modDir = new File(appContext.getExternalFilesDir(null), "mods");
+        if (!modDir.exists() && !modDir.mkdirs()) {
+            LogUtils.logDebug("Cannot watch mods directory - failed to create it");
+            return false;
+        }
+
+        observer = new FileObserver(modDir.getAbsolutePath(), WATCH_EVENTS) {
+            @Override
+            public void onEvent(int event, String path) {
+                if (path == null || path.endsWith(".tmp")) {
+                    return;
+                }
+                scheduleReload();
+            }
+        };
+        observer.startWatching();
+        LogUtils.logDebug("Watching mods directory for hot reload: " + modDir.getAbsolutePath());
+        return true;
+    }
+
+    // Debounce bursts of events (copy + rename, several mods dropped at once)
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = reloadExecutor.schedule(reloadTask, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (observer != null) {
+            observer.stopWatching();
+            observer = null;
+            if (pendingReload != null) {
+                pendingReload.cancel(false);
+                pendingReload = null;
+            }
+            LogUtils.logDebug("Stopped watching mods directory");
+        }
+    }
+
+    public synchronized boolean isWatching() {
+        return observer != null;
+    }
+}
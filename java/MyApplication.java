@@ -5,6 +5,8 @@ package com.terrarialoader;
 
 import android.app.Application;
 import android.os.Environment;
+import com.terrarialoader.ui.LogEntry;
+import com.terrarialoader.ui.SettingsActivity;
 import com.terrarialoader.util.LogUtils;
 import com.terrarialoader.loader.MelonLoaderManager;
 import com.terrarialoader.installer.ModInstaller;
@@ -17,6 +19,7 @@ public class MyApplication extends Application {
         
         // FIXED: Initialize LogUtils first
         LogUtils.initialize(getApplicationContext());
+        LogEntry.setCallerAttributionEnabled(SettingsActivity.isDebugMode(this));
         
         // FIXED: Initialize app startup logging
         LogUtils.initializeAppStartup();
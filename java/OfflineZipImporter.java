@@ -208,8 +208,6 @@ public class OfflineZipImporter {
              ZipInputStream zis = new ZipInputStream(new BufferedInputStream(inputStream))) {
             
             ZipEntry entry;
-            byte[] buffer = new byte[8192];
-            
             while ((entry = zis.getNextEntry()) != null) {
                 if (entry.isDirectory()) {
                     zis.closeEntry();
@@ -225,10 +223,7 @@ public class OfflineZipImporter {
                     
                     // Extract file
                     try (FileOutputStream fos = new FileOutputStream(targetFile)) {
-                        int len;
-                        while ((len = zis.read(buffer)) > 0) {
-                            fos.write(buffer, 0, len);
-                        }
+                        IoUtils.copyStream(zis, fos, entry.getSize(), null);
                     }
                     
                     extractedCount++;
@@ -116,8 +116,9 @@ public class OnlineInstaller {
             // Step 6: Create final result
             InstallationResult result = new InstallationResult(true, "✅ " + loaderType.getDisplayName() + " installed successfully!");
             result.installationPath = targetDirectory;
-            result.filesInstalled = countInstalledFiles(targetDirectory);
-            result.totalSize = calculateDirectorySize(targetDirectory);
+            DirectoryStats installed = DirectoryStats.of(targetDirectory);
+            result.filesInstalled = installed.getFileCount();
+            result.totalSize = installed.getTotalSize();
             
             LogUtils.logUser("🎉 Installation completed successfully!");
             LogUtils.logUser("📊 Files installed: " + result.filesInstalled);
@@ -254,54 +255,6 @@ public class OnlineInstaller {
         }
     }
     
-    /**
-     * Count files in a directory recursively
-     */
-    private static int countInstalledFiles(File directory) {
-        if (directory == null || !directory.exists() || !directory.isDirectory()) {
-            return 0;
-        }
-        
-        int count = 0;
-        File[] files = directory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    count += countInstalledFiles(file);
-                } else {
-                    count++;
-                }
-            }
-        }
-        return count;
-    }
-    
-    /**
-     * Calculate total size of directory
-     */
-    private static long calculateDirectorySize(File directory) {
-        if (directory == null || !directory.exists()) {
-            return 0;
-        }
-        
-        long size = 0;
-        if (directory.isDirectory()) {
-            File[] files = directory.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isDirectory()) {
-                        size += calculateDirectorySize(file);
-                    } else {
-                        size += file.length();
-                    }
-                }
-            }
-        } else {
-            size = directory.length();
-        }
-        return size;
-    }
-    
     /**
      * Convenience method for installing MelonLoader (NET8)
      */
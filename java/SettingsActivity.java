@@ -13,18 +13,27 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.terrarialoader.R;
+import com.terrarialoader.util.FileUtils;
 import com.terrarialoader.util.LogUtils;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 public class SettingsActivity extends Activity {
 
     private static final String PREFS_NAME = "terraria_loader_prefs";
+    private static final long DEFAULT_MOD_LOAD_TIMEOUT_MS = 5000;
+    private static final int DEFAULT_LOG_DEBUG_HIGH_WATER_PERCENT = 75;
     
     private CheckBox enableModsCheck;
     private CheckBox autoSaveLogsCheck;
     private CheckBox debugModeCheck;
     private CheckBox sandboxModeCheck;
+    private CheckBox lazyActivationCheck;
+    private CheckBox quarantineSlowModsCheck;
+    private CheckBox compressedBackupsCheck;
     private Button clearLogsBtn;
     private Button resetModsBtn;
     private Button clearCacheBtn;
@@ -51,6 +60,9 @@ public class SettingsActivity extends Activity {
         autoSaveLogsCheck = findViewById(R.id.autoSaveLogsCheck);
         debugModeCheck = findViewById(R.id.debugModeCheck);
         sandboxModeCheck = findViewById(R.id.sandboxModeCheck);
+        lazyActivationCheck = findViewById(R.id.lazyActivationCheck);
+        quarantineSlowModsCheck = findViewById(R.id.quarantineSlowModsCheck);
+        compressedBackupsCheck = findViewById(R.id.compressedBackupsCheck);
         clearLogsBtn = findViewById(R.id.clearLogsBtn);
         resetModsBtn = findViewById(R.id.resetModsBtn);
         clearCacheBtn = findViewById(R.id.clearCacheBtn);
@@ -64,6 +76,9 @@ public class SettingsActivity extends Activity {
         autoSaveLogsCheck.setChecked(prefs.getBoolean("auto_save_logs", false));
         debugModeCheck.setChecked(prefs.getBoolean("debug_mode", false));
         sandboxModeCheck.setChecked(prefs.getBoolean("sandbox_mode", false));
+        lazyActivationCheck.setChecked(prefs.getBoolean("lazy_mod_activation", false));
+        quarantineSlowModsCheck.setChecked(prefs.getBoolean("quarantine_slow_mods", false));
+        compressedBackupsCheck.setChecked(prefs.getBoolean("compressed_backups", false));
     }
 
     private void setupListeners() {
@@ -84,6 +99,7 @@ public class SettingsActivity extends Activity {
         // Debug Mode Toggle
         debugModeCheck.setOnCheckedChangeListener((buttonView, isChecked) -> {
             prefs.edit().putBoolean("debug_mode", isChecked).apply();
+            LogEntry.setCallerAttributionEnabled(isChecked);
             LogUtils.logUser("Debug mode " + (isChecked ? "enabled" : "disabled"));
             Toast.makeText(this, "Debug mode " + (isChecked ? "enabled" : "disabled"), Toast.LENGTH_SHORT).show();
         });
@@ -95,6 +111,27 @@ public class SettingsActivity extends Activity {
             Toast.makeText(this, "Sandbox mode " + (isChecked ? "enabled" : "disabled"), Toast.LENGTH_SHORT).show();
         });
 
+        // Lazy Mod Activation Toggle
+        lazyActivationCheck.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            prefs.edit().putBoolean("lazy_mod_activation", isChecked).apply();
+            LogUtils.logUser("Lazy mod activation " + (isChecked ? "enabled" : "disabled"));
+            Toast.makeText(this, "Lazy mod activation " + (isChecked ? "enabled" : "disabled"), Toast.LENGTH_SHORT).show();
+        });
+
+        // Quarantine Slow Mods Toggle
+        quarantineSlowModsCheck.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            prefs.edit().putBoolean("quarantine_slow_mods", isChecked).apply();
+            LogUtils.logUser("Quarantine of slow mods " + (isChecked ? "enabled" : "disabled"));
+            Toast.makeText(this, "Quarantine of slow mods " + (isChecked ? "enabled" : "disabled"), Toast.LENGTH_SHORT).show();
+        });
+
+        // Compressed Backups Toggle
+        compressedBackupsCheck.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            prefs.edit().putBoolean("compressed_backups", isChecked).apply();
+            LogUtils.logUser("Compressed backups " + (isChecked ? "enabled" : "disabled"));
+            Toast.makeText(this, "Compressed backups " + (isChecked ? "enabled" : "disabled"), Toast.LENGTH_SHORT).show();
+        });
+
         // Clear Logs Button
         clearLogsBtn.setOnClickListener(v -> {
             LogUtils.clearLogs();
@@ -148,7 +185,7 @@ public class SettingsActivity extends Activity {
             long freedSpace = 0;
             
             if (cacheDir.exists()) {
-                freedSpace = calculateDirectorySize(cacheDir);
+                freedSpace = FileUtils.getDirectorySize(cacheDir);
                 deleteDirectoryContents(cacheDir);
             }
             
@@ -169,7 +206,7 @@ public class SettingsActivity extends Activity {
             long totalSize = 0;
             
             if (appDir != null && appDir.exists()) {
-                totalSize = calculateDirectorySize(appDir);
+                totalSize = FileUtils.getDirectorySize(appDir);
             }
             
             String sizeText = formatFileSize(totalSize);
@@ -186,29 +223,6 @@ public class SettingsActivity extends Activity {
         }
     }
 
-    private long calculateDirectorySize(File dir) {
-        long size = 0;
-        try {
-            if (dir.isDirectory()) {
-                File[] files = dir.listFiles();
-                if (files != null) {
-                    for (File file : files) {
-                        if (file.isDirectory()) {
-                            size += calculateDirectorySize(file);
-                        } else {
-                            size += file.length();
-                        }
-                    }
-                }
-            } else {
-                size = dir.length();
-            }
-        } catch (Exception e) {
-            LogUtils.logDebug("Size calculation failed for: " + dir.getAbsolutePath());
-        }
-        return size;
-    }
-
     private int getModCount() {
         try {
             File modDir = new File(getExternalFilesDir(null), "mods");
@@ -261,11 +275,69 @@ public class SettingsActivity extends Activity {
         return prefs.getBoolean("sandbox_mode", false);
     }
 
+    public static boolean isLazyActivationEnabled(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getBoolean("lazy_mod_activation", false);
+    }
+
+    // onLoad budget for the mod watchdog; 0 disables the watchdog
+    public static long getModLoadTimeoutMs(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getLong("mod_load_timeout_ms", DEFAULT_MOD_LOAD_TIMEOUT_MS);
+    }
+
+    public static boolean isQuarantineSlowModsEnabled(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getBoolean("quarantine_slow_mods", false);
+    }
+
+    // Mod files whose onLoad overran its budget, disabled at the start of the next mod load.
+    // Written with commit() so the entry survives the process being killed while onLoad hangs.
+    public static synchronized void addQuarantinedMod(Context context, String fileName) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        Set<String> names = new HashSet<>(prefs.getStringSet("quarantined_mods", Collections.<String>emptySet()));
+        if (names.add(fileName)) {
+            prefs.edit().putStringSet("quarantined_mods", names).commit();
+        }
+    }
+
+    // Returns and clears the pending quarantine list
+    public static synchronized Set<String> takeQuarantinedMods(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        Set<String> names = new HashSet<>(prefs.getStringSet("quarantined_mods", Collections.<String>emptySet()));
+        if (!names.isEmpty()) {
+            prefs.edit().remove("quarantined_mods").commit();
+        }
+        return names;
+    }
+
+    // Backups as one zip archive per snapshot instead of a linked directory tree
+    public static boolean isCompressedBackupsEnabled(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getBoolean("compressed_backups", false);
+    }
+
     public static boolean isAutoSaveEnabled(Context context) {
         SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         return prefs.getBoolean("auto_save_logs", false);
     }
 
+    // Share of the log writer's buffer DEBUG lines may fill before they are dropped (1-100)
+    public static int getLogDebugHighWaterPercent(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getInt("log_debug_high_water_percent", DEFAULT_LOG_DEBUG_HIGH_WATER_PERCENT);
+    }
+
+    // Log lines at or above this level wait for buffer space instead of being dropped
+    public static LogEntry.LogLevel getLogBlockingLevel(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        try {
+            return LogEntry.LogLevel.valueOf(prefs.getString("log_blocking_level", LogEntry.LogLevel.USER.name()));
+        } catch (IllegalArgumentException e) {
+            return LogEntry.LogLevel.USER;
+        }
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
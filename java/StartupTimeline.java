@@ -0,0 +1,85 @@
+// File: StartupTimeline.java (Component) - Records mod bootstrap phases
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/loader/StartupTimeline.java
+
+package com.terrarialoader.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Startup timeline for the mod bootstrap.
+ * Each phase records the thread it ran on, its offset from the start of the
+ * bootstrap and its duration, so slow phases can be spotted in debug info.
+ */
+public class StartupTimeline {
+    private final long originNanos;
+    private final List<Phase> phases = new ArrayList<>();
+
+    public StartupTimeline() {
+        this.originNanos = System.nanoTime();
+    }
+
+    // Returns a token to pass to end()
+    public long begin() {
+        return System.nanoTime();
+    }
+
+    public synchronized void end(String phaseName, long beginNanos) {
+        long now = System.nanoTime();
+        phases.add(new Phase(phaseName, Thread.currentThread().getName(),
+                             (beginNanos - originNanos) / 1_000_000L, (now - beginNanos) / 1_000_000L));
+    }
+
+    public synchronized List<Phase> getPhases() {
+        return new ArrayList<>(phases);
+    }
+
+    public synchronized Phase getPhase(String phaseName) {
+        for (Phase phase : phases) {
+            if (phase.getName().equals(phaseName)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    // Wall-clock time from bootstrap start to the end of the last recorded phase
+    public synchronized long getTotalMs() {
+        long total = 0;
+        for (Phase phase : phases) {
+            total = Math.max(total, phase.getOffsetMs() + phase.getDurationMs());
+        }
+        return total;
+    }
+
+    public synchronized String format() {
+        StringBuilder info = new StringBuilder();
+        info.append("=== Startup Timeline ===\n");
+        for (Phase phase : phases) {
+            info.append(String.format(Locale.US, "+%5d ms  %-10s %5d ms  [%s]\n",
+                        phase.getOffsetMs(), phase.getName(), phase.getDurationMs(), phase.getThreadName()));
+        }
+        info.append("Total: ").append(getTotalMs()).append(" ms\n");
+        return info.toString();
+    }
+
+    public static class Phase {
+        private final String name;
+        private final String threadName;
+        private final long offsetMs;
+        private final long durationMs;
+
+        Phase(String name, String threadName, long offsetMs, long durationMs) {
+            this.name = name;
+            this.threadName = threadName;
+            this.offsetMs = offsetMs;
+            this.durationMs = durationMs;
+        }
+
+        public String getName() { return name; }
+        public String getThreadName() { return threadName; }
+        public long getOffsetMs() { return offsetMs; }
+        public long getDurationMs() { return durationMs; }
+    }
+}
@@ -0,0 +1,345 @@
+// File: StructuredLogFile.java (Utility Class) - Binary app log records with a sparse time index
+// Path: /storage/emulated/0/AndroidIDEProjects/TerrariaML/app/src/main/java/com/terrarialoader/util/StructuredLogFile.java
+
+package com.terrarialoader.util;
+
+import com.terrarialoader.ui.LogEntry;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact record format for app logs, written next to the human-readable AppLog.txt:
+ *
+ *   AppLog.tlog  "TLOG" + version, then records:
+ *                [int length][long timestamp][byte level][byte type][short tagLength][tag][message]
+ *   AppLog.tidx  "TIDX" + version, then one (long timestamp, long offset) pair per
+ *                INDEX_INTERVAL records, pointing at the start of a record
+ *
+ * The record file is always flushed before the index entry that points into it, so the
+ * index never references missing data. A torn last record is ignored on read and cut off
+ * when a Writer reopens the file, so later sessions' records stay readable.
+ */
+public class StructuredLogFile {
+    public static final String RECORD_SUFFIX = ".tlog";
+    public static final String INDEX_SUFFIX = ".tidx";
+
+    private static final int RECORD_MAGIC = 0x544C4F47; // "TLOG"
+    private static final int INDEX_MAGIC = 0x54494458;  // "TIDX"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 4 + 8 + 1 + 1 + 2;
+    private static final int INDEX_INTERVAL = 64;
+    private static final int MAX_RECORD = 1024 * 1024;
+
+    private static final LogEntry.LogLevel[] LEVELS = LogEntry.LogLevel.values();
+    private static final LogEntry.LogType[] TYPES = LogEntry.LogType.values();
+
+    public static File recordFile(File logDir, String baseName) {
+        return new File(logDir, baseName + RECORD_SUFFIX);
+    }
+
+    public static File indexFile(File logDir, String baseName) {
+        return new File(logDir, baseName + INDEX_SUFFIX);
+    }
+
+    public static File indexFileFor(File recordFile) {
+        String name = recordFile.getName();
+        String baseName = name.endsWith(RECORD_SUFFIX) ? name.substring(0, name.length() - RECORD_SUFFIX.length()) : name;
+        return indexFile(recordFile.getParentFile(), baseName);
+    }
+
+    // === WRITER ===
+
+    /** Appends records; owned by a single thread (the log writer). */
+    public static class Writer implements AutoCloseable {
+        private final FileChannel records;
+        private final FileChannel index;
+        private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.BIG_ENDIAN);
+        private ByteBuffer indexBuffer = ByteBuffer.allocate(16 * 16);
+        private long position;
+        private long recordCount;
+
+        public Writer(File recordFile, File indexFile) throws IOException {
+            records = new RandomAccessFile(recordFile, "rw").getChannel();
+            index = new RandomAccessFile(indexFile, "rw").getChannel();
+            if (records.size() < FILE_HEADER || !hasHeader(records, RECORD_MAGIC)) {
+                records.truncate(0);
+                index.truncate(0);
+                writeHeader(records, RECORD_MAGIC);
+                writeHeader(index, INDEX_MAGIC);
+                position = FILE_HEADER;
+            } else {
+                position = recover();
+            }
+            records.position(position);
+            index.position(index.size());
+        }
+
+        /**
+         * Truncates a record torn by a crash, and the index entries at or past it, so this
+         * session's records follow the last complete one instead of sitting behind garbage
+         * that would stop every reader. Walks only the records after the last index entry.
+         * @return size of the record file afterwards
+         */
+        private long recover() throws IOException {
+            long size = records.size();
+
+            // Index entries are appended in order: keep the prefix pointing at existing records
+            long[] offsets = new long[0];
+            int kept = 0;
+            if (index.size() >= FILE_HEADER && hasHeader(index, INDEX_MAGIC)) {
+                ByteBuffer data = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 16, (index.size() - FILE_HEADER) / 16 * 16));
+                while (data.hasRemaining() && index.read(data, FILE_HEADER + data.position()) > 0) {
+                    // Read the whole index; it is 1/64 of the record count
+                }
+                data.flip();
+                offsets = new long[data.remaining() / 16];
+                while (data.remaining() >= 16) {
+                    data.getLong(); // Timestamp
+                    long offset = data.getLong();
+                    if (offset < FILE_HEADER || offset >= size || (kept > 0 && offset <= offsets[kept - 1])) {
+                        break;
+                    }
+                    offsets[kept++] = offset;
+                }
+            } else {
+                index.truncate(0);
+                writeHeader(index, INDEX_MAGIC);
+            }
+
+            long end = kept > 0 ? offsets[kept - 1] : FILE_HEADER;
+            ByteBuffer length = ByteBuffer.allocate(4);
+            while (end + 4 <= size) {
+                length.clear();
+                while (length.hasRemaining() && records.read(length, end + length.position()) > 0) {
+                    // Keep reading until the length is complete
+                }
+                int recordLength = length.getInt(0);
+                if (recordLength < RECORD_HEADER || recordLength > MAX_RECORD || end + recordLength > size) {
+                    break;
+                }
+                end += recordLength;
+            }
+
+            if (end < size) {
+                records.truncate(end);
+                while (kept > 0 && offsets[kept - 1] >= end) {
+                    kept--;
+                }
+            }
+            if (index.size() != FILE_HEADER + kept * 16L) {
+                index.truncate(FILE_HEADER + kept * 16L); // Also drops a torn index entry
+            }
+            return end;
+        }
+
+        private static void writeHeader(FileChannel channel, int magic) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+            header.putInt(magic).putInt(VERSION).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        }
+
+        public void append(LogEntry entry) {
+            byte[] tag = entry.getTag().getBytes(StandardCharsets.UTF_8);
+            byte[] message = entry.getMessage().getBytes(StandardCharsets.UTF_8);
+            int tagLength = Math.min(tag.length, Short.MAX_VALUE);
+            int messageLength = Math.min(message.length, MAX_RECORD - RECORD_HEADER - tagLength);
+            int length = RECORD_HEADER + tagLength + messageLength;
+
+            if (buffer.remaining() < length) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+            if (recordCount++ % INDEX_INTERVAL == 0) {
+                if (indexBuffer.remaining() < 16) {
+                    ByteBuffer larger = ByteBuffer.allocate(indexBuffer.capacity() * 2);
+                    indexBuffer.flip();
+                    larger.put(indexBuffer);
+                    indexBuffer = larger;
+                }
+                indexBuffer.putLong(entry.getTimestamp()).putLong(position + buffer.position());
+            }
+            buffer.putInt(length)
+                  .putLong(entry.getTimestamp())
+                  .put((byte) entry.getLevel().ordinal())
+                  .put((byte) entry.getType().ordinal())
+                  .putShort((short) tagLength)
+                  .put(tag, 0, tagLength)
+                  .put(message, 0, messageLength);
+        }
+
+        public long size() {
+            return position + buffer.position();
+        }
+
+        /** Writes buffered records, then the index entries that point at them. */
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += records.write(buffer);
+            }
+            buffer.clear();
+            indexBuffer.flip();
+            while (indexBuffer.hasRemaining()) {
+                index.write(indexBuffer);
+            }
+            indexBuffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                records.close();
+                index.close();
+            }
+        }
+    }
+
+    // === READER ===
+
+    /**
+     * Decodes every record starting in [startOffset, endOffset); offsets must be record
+     * boundaries, e.g. from readIndex(). Used to page through a file from its end.
+     */
+    public static List<LogEntry> readRange(File recordFile, long startOffset, long endOffset) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        try (FileChannel channel = new FileInputStream(recordFile).getChannel()) {
+            if (channel.size() < FILE_HEADER || !hasHeader(channel, RECORD_MAGIC)) {
+                return entries;
+            }
+            decodeRecords(channel, Math.max(FILE_HEADER, startOffset), Math.min(endOffset, channel.size()), entries);
+        }
+        return entries;
+    }
+
+    private static void decodeRecords(FileChannel channel, long offset, long endOffset, List<LogEntry> entries)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        buffer.limit(0);
+
+        while (offset < endOffset) {
+            if (buffer.remaining() < 4 && !fill(channel, buffer, offset, 4)) {
+                break;
+            }
+            int length = buffer.getInt(buffer.position());
+            if (length < RECORD_HEADER || length > MAX_RECORD) {
+                break; // Corrupt or torn tail
+            }
+            if (buffer.remaining() < length) {
+                if (buffer.capacity() < length) {
+                    buffer = ByteBuffer.allocate(length);
+                    buffer.limit(0); // Refilled from offset below
+                }
+                if (!fill(channel, buffer, offset, length)) {
+                    break;
+                }
+            }
+
+            int start = buffer.position();
+            long timestamp = buffer.getLong(start + 4);
+            offset += length;
+            entries.add(decode(buffer, start, length, timestamp));
+            buffer.position(start + length);
+        }
+    }
+
+    private static LogEntry decode(ByteBuffer buffer, int start, int length, long timestamp) {
+        int levelIndex = buffer.get(start + 12);
+        int typeIndex = buffer.get(start + 13);
+        int tagLength = buffer.getShort(start + 14);
+        byte[] array = buffer.array();
+        int tagStart = buffer.arrayOffset() + start + RECORD_HEADER;
+        String tag = new String(array, tagStart, tagLength, StandardCharsets.UTF_8);
+        String message = new String(array, tagStart + tagLength, length - RECORD_HEADER - tagLength, StandardCharsets.UTF_8);
+        LogEntry.LogLevel level = levelIndex >= 0 && levelIndex < LEVELS.length ? LEVELS[levelIndex] : LogEntry.LogLevel.INFO;
+        LogEntry.LogType type = typeIndex >= 0 && typeIndex < TYPES.length ? TYPES[typeIndex] : LogEntry.LogType.APP;
+        return new LogEntry(timestamp, level, type, tag, message, null);
+    }
+
+    // Compacts buffer and reads until it holds at least needed bytes; fileOffset is where the unread data starts
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, long fileOffset, int needed) throws IOException {
+        buffer.compact();
+        long readPosition = fileOffset + buffer.position();
+        while (buffer.position() < needed) {
+            int read = channel.read(buffer, readPosition);
+            if (read <= 0) {
+                buffer.flip();
+                return false;
+            }
+            readPosition += read;
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private static boolean hasHeader(FileChannel channel, int magic) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Keep reading until the header is complete
+        }
+        return !header.hasRemaining() && header.getInt(0) == magic && header.getInt(4) == VERSION;
+    }
+
+    /** Sparse index of one record file: ascending record offsets with their timestamps. */
+    public static class Index {
+        public final long[] timestamps;
+        public final long[] offsets;
+
+        Index(long[] timestamps, long[] offsets) {
+            this.timestamps = timestamps;
+            this.offsets = offsets;
+        }
+
+        public int size() {
+            return offsets.length;
+        }
+    }
+
+    // Index entries that point inside the record file's current size; empty if there is no usable index
+    public static Index readIndex(File indexFile, long recordFileSize) {
+        if (indexFile == null || !indexFile.isFile()) {
+            return new Index(new long[0], new long[0]);
+        }
+        try (FileChannel channel = new FileInputStream(indexFile).getChannel()) {
+            if (!hasHeader(channel, INDEX_MAGIC)) {
+                return new Index(new long[0], new long[0]);
+            }
+            int count = (int) Math.min(Integer.MAX_VALUE, (channel.size() - FILE_HEADER) / 16);
+            ByteBuffer data = ByteBuffer.allocate(count * 16);
+            while (data.hasRemaining() && channel.read(data, FILE_HEADER + data.position()) > 0) {
+                // Read the whole index; it is 1/64 of the record count
+            }
+            data.flip();
+            long[] timestamps = new long[count];
+            long[] offsets = new long[count];
+            int valid = 0;
+            while (data.remaining() >= 16) {
+                long timestamp = data.getLong();
+                long offset = data.getLong();
+                if (offset >= FILE_HEADER && offset < recordFileSize && (valid == 0 || offset > offsets[valid - 1])) {
+                    timestamps[valid] = timestamp;
+                    offsets[valid] = offset;
+                    valid++;
+                }
+            }
+            return new Index(Arrays.copyOf(timestamps, valid), Arrays.copyOf(offsets, valid));
+        } catch (IOException e) {
+            return new Index(new long[0], new long[0]);
+        }
+    }
+}